@@ -33,6 +33,7 @@ android {
 
 dependencies {
 
+    implementation(project(":diner-core"))
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.activity)
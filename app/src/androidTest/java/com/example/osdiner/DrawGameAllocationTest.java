@@ -0,0 +1,79 @@
+package com.example.osdiner;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.osdiner.core.Bounds;
+import com.example.osdiner.core.Customer;
+import com.example.osdiner.core.DinerState;
+import com.example.osdiner.core.RenderSnapshot;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Guards the render path against garbage: once warmed up, a frame of
+ * DinerView.update plus drawGame for an unchanged snapshot must not allocate.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DrawGameAllocationTest {
+
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+
+    @SuppressWarnings("deprecation") // Alloc counting is deprecated but still the only per-thread counter
+    @Test
+    public void steadyStateFrame_doesNotAllocate() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        DinerView[] holder = new DinerView[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> holder[0] = new DinerView(context, null));
+        DinerView view = holder[0];
+        view.calculateLayout(WIDTH, HEIGHT);
+
+        DinerState state = new DinerState();
+        state.initializeTables(new Bounds[] {
+                new Bounds(500, 200, 700, 400),
+                new Bounds(900, 200, 1100, 400),
+                new Bounds(1300, 200, 1500, 400)
+        });
+        for (Customer.CustomerType type : Customer.CustomerType.values()) {
+            state.addWaitingCustomer(new Customer(type));
+        }
+        state.trySeatCustomerByDrag(state.getWaitingCustomers().get(0), state.getTables().get(1));
+
+        RenderSnapshot snapshot = new RenderSnapshot();
+        snapshot.capture(state);
+        Bitmap surface = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(surface);
+
+        // Builds the background layer, label caches and tap target arrays
+        for (int i = 0; i < 5; i++) {
+            drawFrame(view, snapshot, canvas);
+        }
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        try {
+            for (int i = 0; i < 60; i++) {
+                drawFrame(view, snapshot, canvas);
+            }
+        } finally {
+            Debug.stopAllocCounting();
+        }
+
+        assertEquals("Objects allocated over 60 steady-state frames", 0, Debug.getThreadAllocCount());
+        surface.recycle();
+    }
+
+    private static void drawFrame(DinerView view, RenderSnapshot snapshot, Canvas canvas) {
+        view.update(1.0 / 60.0, snapshot);
+        view.drawGame(canvas, snapshot, 1f);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.osdiner;
+
+import android.util.Log;
+
+import com.example.osdiner.core.DinerLog;
+
+// Forwards simulation-core log calls to logcat
+public class AndroidLogSink implements DinerLog.Sink {
+
+    @Override
+    public void log(int priority, String tag, String message, Throwable error) {
+        if (error != null) {
+            message = message + '\n' + Log.getStackTraceString(error);
+        }
+        Log.println(priority, tag, message);
+    }
+}
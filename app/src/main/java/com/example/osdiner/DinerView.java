@@ -2,9 +2,7 @@ package com.example.osdiner;
 
 import android.app.Activity;
 import android.content.Context;
-import android.content.res.Resources;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
@@ -17,19 +15,39 @@ import android.os.VibrationEffect;
 import android.os.Vibrator;
 import android.util.AttributeSet;
 import android.util.Log; // Import Log
-import android.util.Pair;
+import android.view.Display;
 import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
 import android.view.SurfaceHolder;
 import android.view.SurfaceView;
 import androidx.annotation.NonNull; // Use androidx annotation
 import androidx.annotation.Nullable;
 
-import java.util.Locale;
+import com.example.osdiner.core.Bounds;
+import com.example.osdiner.core.Camera;
+import com.example.osdiner.core.Customer;
+import com.example.osdiner.core.DinerLayout;
+import com.example.osdiner.core.DinerLog;
+import com.example.osdiner.core.DinerState;
+import com.example.osdiner.core.DirtyRegionTracker;
+import com.example.osdiner.core.DisplayIdCache;
+import com.example.osdiner.core.FramePacer;
+import com.example.osdiner.core.GameBalance;
+import com.example.osdiner.core.IntLabel;
+import com.example.osdiner.core.RenderSnapshot;
+import com.example.osdiner.core.RenderSnapshotBuffer;
+import com.example.osdiner.core.SessionRandom;
+import com.example.osdiner.core.TapTargets;
+import com.example.osdiner.core.TraceRing;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
 
@@ -37,17 +55,45 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
 
     private final Context context;
     private GameThread gameThread;
+    private RenderThread renderThread;
+    private RenderSnapshotBuffer renderSnapshots;
     private DinerState dinerState;
     private final Paint backgroundPaint;
     private final Paint tablePaint;
 
-    private CustomerGeneratorThread customerGenerator;
-    private final Paint customerPaint;
-    private final Paint selectedCustomerPaint;
+    // Text paints are styled once here; the draw path never changes their size, color or alignment
+    private final Paint customerPaint;          // Customer labels and the [IMG] fallback
+    private final Paint selectedCustomerPaint;  // Label of a dragged customer without a sprite
     private final Paint waitingAreaPaint;
     private final Paint counterPaint;
-    private final Paint textPaint;
-    private final Paint uiTextPaint;
+    private final Paint textPaint;              // Static layout captions
+    private final Paint counterLabelPaint;      // Labels under food on the counter
+    private final Paint uiTextPaint;            // HUD score
+    private final Paint livesTextPaint;         // HUD lives when the heart sprite is missing
+    private final Paint levelTextPaint;
+    private final Paint gameOverPaint;
+    private final Paint finalScorePaint;
+
+    // Text metrics; the text sizes are fixed, so these are measured once
+    private final float customerLabelHeight;
+    private final float customerLabelDescent;
+    private final float seatedLabelHeight;      // Bounds height of a display id (capitals and digits only)
+    private final float orderIndicatorTextOffset;
+    private final float clearTableIndicatorTextOffset;
+    private final float scoreTextHeight;
+    private final float livesTextHeight;
+    private final float levelTextHeight;
+    private final float menuButtonTextOffset;
+    private final float waitingSlotSpacing;     // One waiting customer: bar, icon and label
+
+    // Cached strings, rebuilt only when the value they show changes; render thread only
+    private final DisplayIdCache displayIds = new DisplayIdCache(128);
+    private final IntLabel scoreLabel = new IntLabel("Score: ");
+    private final IntLabel livesLabel = new IntLabel("Lives: ");
+    private final IntLabel levelLabel = new IntLabel("Level: ");
+    private final IntLabel finalScoreLabel = new IntLabel("Final Score: ");
+    private static final String ORDER_INDICATOR_TEXT = "Take ORDER";
+    private static final String CLEAR_TABLE_INDICATOR_TEXT = "DONE";
 
     private final Paint patienceBarBgPaint;
     private final Paint patienceBarFgPaint;
@@ -64,35 +110,86 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
 
     private RectF waitingAreaRect;
     private RectF counterRect;
-    private RectF[] tableRects;
-
-
+    private Bounds[] tableRects;
+    private DinerLayout dinerLayout = new DinerLayout();
+    private boolean hasSessionSeed;
+    private long sessionSeed;
+    private RectF floorRect;                    // Screen area the tables are shown in
+
+    // Pan and zoom over the floor. Gestures move camera on the UI thread, under its own monitor;
+    // RenderThread copies it into frameCamera once per frame so culling and drawing agree.
+    private final Camera camera = new Camera();
+    private final Camera frameCamera = new Camera();
+    private boolean frameCameraTaken;
+    private long dirtyCameraKey;
+    private final ScaleGestureDetector scaleDetector;
+    private boolean panning;
+    private float lastPanX;
+    private float lastPanY;
+    // How far an indicator or plate reaches outside its table, in world units
+    private static final float TABLE_DECORATION_MARGIN = 120f;
+
+    // Camera.DETAIL_MARKERS: occupied tables binned into screen cells, one dot per cell; render thread only
+    private static final float MARKER_CELL_SIZE = 48f;
+    private static final float MARKER_MIN_RADIUS = 6f;
+    private final Paint markerPaint;
+    private int markerColumns;
+    private int markerRows;
+    private int[] markerCount = new int[0];
+    private int[] markerUrgency = new int[0];
+    private int[] markerCells = new int[0];
+    private int markerCellCount;
+
+    // Static layout pre-rendered once per layout; rebuilt by RenderThread when invalidated
+    private Bitmap backgroundLayer;
+    private volatile boolean backgroundLayerValid = false;
+
+    // Opt-in: repaint only the regions that changed since the last frame
+    public static final int FRAME_UNCHANGED = 0;
+    public static final int FRAME_PARTIAL = 1;
+    public static final int FRAME_FULL = 2;
+    private static final float DIRTY_FULL_REPAINT_FRACTION = 0.5f;
+    private static final int DIRTY_SLOT_HUD = 0;
+    private static final int DIRTY_SLOT_DRAG = 1;
+    private static final int DIRTY_SLOT_COUNTER = 2;
+    private static final int DIRTY_SLOT_FIRST_TABLE = 3;
+    private static final float HUD_REGION_WIDTH = 480f;
+    private static final float HUD_REGION_HEIGHT = 320f;
+    private static final float DRAG_REGION_HALF_SIZE = 80f;
+    private volatile boolean dirtyRectRendering = false;
+
+    // Vsync pacing for RenderThread; outlives the thread so settings survive surface changes
+    private final FramePacer framePacer = new FramePacer();
+    private volatile boolean dirtyRegionInvalid = true;
+    private final DirtyRegionTracker dirtyRegionTracker = new DirtyRegionTracker(32);
+
+
+    // Sprites are pre-scaled, so blits need neither filtering nor anti-aliasing
     private final Paint bitmapPaint;
 
-    private final Map<Integer, Bitmap> customerBitmaps = new HashMap<>();
-
-    private Bitmap heartBitmap;
+    private SpriteAtlas spriteAtlas;
     private static final float HEART_SIZE = 50f;
     private static final float HEART_SPACING = 10f;
     private static final float CUSTOMER_ICON_WIDTH = 80f;
     private static final float CUSTOMER_ICON_HEIGHT = 100f;
 
-    private boolean isDragging = false;
-    private Customer draggedCustomer = null;
-    private Customer draggedFoodCustomer = null;
-    private float dragX = 0f;
-    private float dragY = 0f;
+    // Written by the UI thread, read by RenderThread
+    private volatile boolean isDragging = false;
+    private volatile int draggedCustomerId = RenderSnapshot.NO_CUSTOMER;
+    private volatile int draggedFoodCustomerId = RenderSnapshot.NO_CUSTOMER;
+    private volatile float dragX = 0f;
+    private volatile float dragY = 0f;
 
     private static final float PATIENCE_BAR_WIDTH = 60f;
     private static final float PATIENCE_BAR_HEIGHT = 8f;
-    private final List<RectF> waitingCustomerTapAreas = new ArrayList<>();
 
-    // Tap Areas for Order Indicators
-    private final List<Pair<RectF, Customer>> confirmOrderTapAreas = new ArrayList<>();
+    // A full waiting column plus one target per table on a phone-sized layout; grows if ever exceeded
+    private static final int TAP_TARGET_CAPACITY = 32;
 
-    private final List<Pair<RectF, Customer>> foodReadyTapAreas = new ArrayList<>();
-
-    private final List<Pair<RectF, Customer>> clearTableTapAreas = new ArrayList<>();
+    // RenderThread fills one set while the UI thread hit-tests the last finished one
+    private final Object tapAreaLock = new Object();
+    private TapTargets drawingTapAreas = new TapTargets(TAP_TARGET_CAPACITY);
+    private TapTargets touchTapAreas = new TapTargets(TAP_TARGET_CAPACITY);
     private final Rect textBounds = new Rect();
 
     // Score Animation Fields
@@ -109,7 +206,8 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
 
 
     // Menu Button Fields
-    private RectF menuButtonArea;
+    private volatile RectF menuButtonArea;         // Placed by calculateLayout
+    private volatile boolean menuButtonVisible = false;
     private final Paint menuButtonPaint;
     private final Paint menuButtonTextPaint;
     private static final float MENU_BUTTON_WIDTH = 120f;
@@ -121,6 +219,11 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
 
     private static final float FOOD_PLATE_DIAMETER = 60f;
 
+    // Game event trace, dumped on demand from the in-game menu
+    private static final int TRACE_CAPACITY = 4096;
+    private static final String TRACE_FILE_NAME = "diner-trace.bin";
+    private static final String FRAME_STATS_FILE_NAME = "frame-stats.txt";
+
 
     public DinerView(Context context, @Nullable  AttributeSet attrs) {
         super(context, attrs);
@@ -135,9 +238,24 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
         tablePaint.setColor(Color.rgb(139, 69, 19));
         tablePaint.setStyle(Paint.Style.FILL);
 
+        markerPaint = new Paint();
+        markerPaint.setStyle(Paint.Style.FILL);
+        markerPaint.setAntiAlias(true);
+
+        scaleDetector = new ScaleGestureDetector(context, new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+            @Override
+            public boolean onScale(ScaleGestureDetector detector) {
+                synchronized (camera) {
+                    camera.zoomBy(detector.getScaleFactor(), detector.getFocusX(), detector.getFocusY());
+                }
+                return true;
+            }
+        });
+
         customerPaint = new Paint();
-        customerPaint.setColor(Color.BLACK);
+        customerPaint.setColor(Color.DKGRAY);
         customerPaint.setTextSize(50f);
+        customerPaint.setTextAlign(Paint.Align.CENTER);
         customerPaint.setAntiAlias(true);
 
 
@@ -168,6 +286,7 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
         selectedCustomerPaint.setColor(Color.RED);
         selectedCustomerPaint.setTextSize(35f);
         selectedCustomerPaint.setFakeBoldText(true);
+        selectedCustomerPaint.setTextAlign(Paint.Align.CENTER);
         selectedCustomerPaint.setAntiAlias(true);
 
 
@@ -196,12 +315,30 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
         textPaint.setTextSize(35f);
         textPaint.setAntiAlias(true);
 
+        counterLabelPaint = new Paint(textPaint);
+        counterLabelPaint.setTextAlign(Paint.Align.CENTER);
+
         uiTextPaint = new Paint();
         uiTextPaint.setColor(Color.BLACK);
         uiTextPaint.setTextSize(40f);
         uiTextPaint.setAntiAlias(true);
         uiTextPaint.setTextAlign(Paint.Align.RIGHT);
 
+        livesTextPaint = new Paint(uiTextPaint);
+        livesTextPaint.setTextSize(35f);
+
+        levelTextPaint = new Paint(livesTextPaint);
+        levelTextPaint.setColor(Color.DKGRAY);
+
+        gameOverPaint = new Paint();
+        gameOverPaint.setTextAlign(Paint.Align.CENTER);
+        gameOverPaint.setTextSize(80f);
+        gameOverPaint.setFakeBoldText(true);
+        gameOverPaint.setColor(Color.RED);
+
+        finalScorePaint = new Paint(gameOverPaint);
+        finalScorePaint.setTextSize(50f);
+
 
 
         patienceBarBgPaint = new Paint();
@@ -214,8 +351,7 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
 
 
         bitmapPaint = new Paint();
-        bitmapPaint.setAntiAlias(true);
-        bitmapPaint.setFilterBitmap(true);
+        bitmapPaint.setFilterBitmap(false);
 
 
         menuButtonPaint = new Paint();
@@ -228,11 +364,30 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
         menuButtonTextPaint.setTextAlign(Paint.Align.CENTER);
         menuButtonTextPaint.setAntiAlias(true);
 
+        Paint.FontMetrics fm = customerPaint.getFontMetrics();
+        customerLabelHeight = fm.descent - fm.ascent;
+        customerLabelDescent = fm.descent;
+        waitingSlotSpacing = PATIENCE_BAR_HEIGHT + 5f + CUSTOMER_ICON_HEIGHT + 5f + customerLabelHeight + 10f;
+        customerPaint.getTextBounds("VIP0", 0, 4, textBounds);
+        seatedLabelHeight = textBounds.height();
+        orderIndicatorTextPaint.getTextBounds(ORDER_INDICATOR_TEXT, 0, ORDER_INDICATOR_TEXT.length(), textBounds);
+        orderIndicatorTextOffset = textBounds.height() / 2.0f;
+        clearTableIndicatorTextPaint.getTextBounds(CLEAR_TABLE_INDICATOR_TEXT, 0, CLEAR_TABLE_INDICATOR_TEXT.length(), textBounds);
+        clearTableIndicatorTextOffset = textBounds.height() / 2.0f;
+        fm = uiTextPaint.getFontMetrics();
+        scoreTextHeight = fm.descent - fm.ascent;
+        fm = livesTextPaint.getFontMetrics();
+        livesTextHeight = fm.descent - fm.ascent;
+        fm = levelTextPaint.getFontMetrics();
+        levelTextHeight = fm.descent - fm.ascent;
+        menuButtonTextOffset = (menuButtonTextPaint.descent() + menuButtonTextPaint.ascent()) / 2f;
+
 
         initializeSoundAndVibration(context);
 
 
-        loadBitmaps(context.getResources());
+        spriteAtlas = SpriteAtlas.build(context.getResources(),
+                (int) CUSTOMER_ICON_WIDTH, (int) CUSTOMER_ICON_HEIGHT, (int) HEART_SIZE);
 
 
         displayedScore = 0f;
@@ -287,42 +442,45 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
         }
     }
 
-    private void calculateLayout(int width, int height) {
+    // Package-private so instrumented tests can lay out a view without a surface
+    void calculateLayout(int width, int height) {
         Log.d(TAG, "Calculating layout for width=" + width + ", height=" + height);
 
-        //  Waiting Area
-        float waitingAreaWidth = width / 5.0f;
-        float margin = 20f;
-        waitingAreaRect = new RectF(margin, margin, margin + waitingAreaWidth, height - margin);
-
-        //  Counter
-        float newCounterTop = height * 0.70f;     // Start counter 70% down the screen
-        float newCounterBottom = height * 0.95f; // End counter 85% down the screen
-
-        float counterLeft = waitingAreaRect.right + margin; // Start after waiting area
-        float counterRight = width - margin;
-        counterRect = new RectF(counterLeft, newCounterTop, counterRight, newCounterBottom);
-
-        //  Tables
-        int numTables = 3;
-        tableRects = new RectF[numTables];
-        float tableAreaLeft = waitingAreaRect.right + margin;
-        float tableAreaRight = width - margin;
+        dinerLayout.compute(width, height);
+        waitingAreaRect = toRectF(dinerLayout.getWaitingArea());
+        counterRect = toRectF(dinerLayout.getCounter());
+        // Fresh copies: tables and the render thread may still hold the previous layout's bounds
+        Bounds[] tables = dinerLayout.getTables();
+        Bounds[] rects = new Bounds[tables.length];
+        for (int i = 0; i < tables.length; i++) {
+            rects[i] = new Bounds(tables[i].left, tables[i].top, tables[i].right, tables[i].bottom);
+        }
+        tableRects = rects;
+        floorRect = toRectF(dinerLayout.getFloor());
+        synchronized (camera) {
+            camera.setBounds(dinerLayout.getFloor(), dinerLayout.getWorld());
+        }
 
-        float tableAreaBottom = newCounterTop - margin;
-        float tableAreaWidth = tableAreaRight - tableAreaLeft;
-        float tableAreaHeight = tableAreaBottom - margin;
+        //  Menu Button (top right)
+        float buttonLeft = width - MENU_BUTTON_WIDTH - MENU_BUTTON_MARGIN;
+        menuButtonArea = new RectF(buttonLeft, MENU_BUTTON_MARGIN,
+                buttonLeft + MENU_BUTTON_WIDTH, MENU_BUTTON_MARGIN + MENU_BUTTON_HEIGHT);
+        Log.d(TAG, "Layout calculated.");
+    }
 
-        float tableSize = Math.min(tableAreaWidth / (numTables + 1), tableAreaHeight / 2.5f);
+    private static RectF toRectF(Bounds bounds) {
+        return new RectF(bounds.left, bounds.top, bounds.right, bounds.bottom);
+    }
 
-        float tableSpacingX = (tableAreaWidth - (numTables * tableSize)) / (numTables + 1);
+    // Table count, grid shape and waiting capacity; takes effect when the surface is next laid out
+    public void setDinerLayout(DinerLayout layout) {
+        dinerLayout = layout;
+    }
 
-        for (int i = 0; i < numTables; i++) {
-            float tableLeft = tableAreaLeft + (i + 1) * tableSpacingX + i * tableSize;
-            float tableTop = margin + (tableAreaHeight - tableSize) / 2.0f;
-            tableRects[i] = new RectF(tableLeft, tableTop, tableLeft + tableSize, tableTop + tableSize);
-        }
-        Log.d(TAG, "Layout calculated.");
+    // Seeds the next game's random streams, so it replays a logged session
+    public void setSessionSeed(long seed) {
+        sessionSeed = seed;
+        hasSessionSeed = true;
     }
 
 
@@ -331,21 +489,64 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
             gameThread.pauseGame();
             Log.d(TAG, "Game paused via DinerView.");
         }
-        if (customerGenerator != null) {
-            customerGenerator.pauseGeneration();
-            Log.d(TAG, "CustomerGenerator paused via DinerView.");
+        if (renderThread != null) {
+            renderThread.pauseRendering();
         }
     }
 
     public void resumeGame() {
-        if (customerGenerator != null) {
-            customerGenerator.resumeGeneration();
-            Log.d(TAG, "CustomerGenerator resumed via DinerView.");
-        }
         if (gameThread != null) {
             gameThread.resumeGame();
             Log.d(TAG, "Game resumed via DinerView.");
         }
+        if (renderThread != null) {
+            renderThread.resumeRendering();
+        }
+    }
+
+    // Writes the game event trace to the app's files directory. Call while paused.
+    @Nullable
+    public File dumpTrace() {
+        if (dinerState == null || dinerState.getTraceRing() == null) {
+            Log.w(TAG, "No trace to dump.");
+            return null;
+        }
+        File file = new File(context.getFilesDir(), TRACE_FILE_NAME);
+        try (OutputStream out = new FileOutputStream(file)) {
+            dinerState.getTraceRing().writeTo(out);
+            Log.i(TAG, "Trace written to " + file.getAbsolutePath());
+            return file;
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to write trace", e);
+            return null;
+        }
+    }
+
+    // Writes the game and render loop phase histograms to the app's files directory
+    @Nullable
+    public File dumpFrameStats() {
+        GameThread game = gameThread;
+        RenderThread render = renderThread;
+        if (game == null && render == null) {
+            Log.w(TAG, "No frame stats to dump.");
+            return null;
+        }
+        File file = new File(context.getFilesDir(), FRAME_STATS_FILE_NAME);
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            if (game != null) {
+                game.getFrameStats().writeReport(out);
+                out.write("\n");
+            }
+            if (render != null) {
+                render.getFrameStats().writeReport(out);
+            }
+            framePacer.writeReport(out);
+            Log.i(TAG, "Frame stats written to " + file.getAbsolutePath());
+            return file;
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to write frame stats", e);
+            return null;
+        }
     }
 
     public boolean isPaused() {
@@ -357,15 +558,24 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
 
     public void stopGame() {
         Log.d(TAG, "stopGame called.");
-        if (customerGenerator != null) {
-            customerGenerator.resumeGeneration();
-            customerGenerator.stopGenerating();
-            customerGenerator = null;
-            Log.d(TAG, "CustomerGeneratorThread signaled to stop.");
-        } else {
-            Log.d(TAG, "CustomerGeneratorThread was already null.");
-        }
 
+        // Stop Render Thread before the surface goes away
+        if (renderThread != null) {
+            renderThread.setRunning(false);
+            Log.d(TAG, "Attempting to join RenderThread...");
+            try {
+                renderThread.join(1000);
+            } catch (InterruptedException e) {
+                Log.w(TAG, "InterruptedException joining RenderThread", e);
+                Thread.currentThread().interrupt();
+            }
+            if (renderThread.isAlive()) {
+                Log.e(TAG, "RenderThread join timed out!");
+            } else {
+                Log.d(TAG, "RenderThread joined successfully.");
+            }
+            renderThread = null;
+        }
 
         // Stop Game Loop Thread
         if (gameThread != null) {
@@ -394,53 +604,6 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
         }
     }
 
-
-
-    private void loadBitmaps(Resources res) {
-        //  Load Customer Bitmaps
-        customerBitmaps.clear();
-        for (Customer.CustomerType type : Customer.CustomerType.values()) {
-            Customer.CustomerConfig config = Customer.getConfig(type);
-            int resId = config.getIconResId();
-            try {
-                Bitmap bitmap = BitmapFactory.decodeResource(res, resId);
-                if (bitmap != null) {
-                    customerBitmaps.put(resId, bitmap);
-                    Log.d(TAG, "Loaded customer bitmap for " + type + " (ResID: " + resId + ")");
-                } else {
-                    Log.e(TAG, "Failed to load customer bitmap for " + type + " (ResID: " + resId + ")");
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "Error loading customer bitmap for " + type + " (ResID: " + resId + ")", e);
-            }
-        }
-
-        // Load Heart Bitmap
-        try {
-            Bitmap originalHeart = BitmapFactory.decodeResource(res, R.drawable.heart_full);
-            if (originalHeart != null) {
-
-                heartBitmap = Bitmap.createScaledBitmap(originalHeart, (int) HEART_SIZE, (int) HEART_SIZE, true);
-                Log.d(TAG, "Loaded and scaled heart bitmap (ResID: " + R.drawable.heart_full + ")");
-            } else {
-                Log.e(TAG, "Failed to load heart bitmap (ResID: " + R.drawable.heart_full + ") - decodeResource returned null.");
-                heartBitmap = null;
-            }
-        } catch (Resources.NotFoundException e) {
-            Log.e(TAG, "Heart bitmap resource not found (R.drawable.heart_full). Make sure the file exists!", e);
-            heartBitmap = null;
-        } catch (Exception e) {
-            Log.e(TAG, "Error loading or scaling heart bitmap (ResID: " + R.drawable.heart_full + ")", e);
-            heartBitmap = null;
-        }
-    }
-    public void triggerProcessArrivals() {
-        Log.d(TAG,"triggerProcessArrivals called by GameThread");
-        if (dinerState != null) {
-            dinerState.processCustomerArrivals();
-        }
-    }
-
     @Override
     public void surfaceCreated(@NonNull SurfaceHolder holder) {
         Log.d(TAG, "Surface Created - Doing minimal work here.");
@@ -450,12 +613,21 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
     public void surfaceChanged(@NonNull SurfaceHolder holder, int format, int width, int height) {
         Log.d(TAG, "Surface Changed: width=" + width + ", height=" + height);
         calculateLayout(width, height);
+        backgroundLayerValid = false;
+        dirtyRegionInvalid = true;
+        Display display = getDisplay();
+        if (display != null) {
+            framePacer.setDisplayRefreshRate(display.getRefreshRate());
+        }
 
         // Create DinerState if it doesn't exist AND layout is ready
         if (dinerState == null && tableRects != null && counterRect != null) {
             Log.d(TAG, "surfaceChanged: Creating DinerState...");
-            dinerState = new DinerState();
-            Log.i(TAG, "DinerState created.");
+            SessionRandom random = hasSessionSeed ? new SessionRandom(sessionSeed) : new SessionRandom();
+            dinerState = new DinerState(GameBalance.DEFAULT, random);
+            dinerState.setTraceRing(new TraceRing(TRACE_CAPACITY));
+            dinerState.setWaitingCapacity(dinerLayout.getWaitingCapacity());
+            Log.i(TAG, "DinerState created, session seed " + random.getSeed() + ".");
         }
 
         if (dinerState != null && tableRects != null) {
@@ -465,19 +637,11 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
             Log.e(TAG, "surfaceChanged: Cannot initialize tables, DinerState is still null!");
         }
 
-        // Create CustomerGenerator after DinerState
-        if (dinerState != null && customerGenerator == null) {
-            Log.d(TAG,"Creating CustomerGeneratorThread...");
-            customerGenerator = new CustomerGeneratorThread(dinerState.getCustomerArrivalQueue(), dinerState);
-            dinerState.setCustomerGenerator(customerGenerator);
-            customerGenerator.start();
-            Log.i(TAG, "CustomerGeneratorThread CREATED and STARTED.");
-        }
-
         // Create/Start GameThread after DinerState
         if (dinerState != null && (gameThread == null || !gameThread.isAlive())) {
             Log.d(TAG,"Creating/Starting GameThread...");
-            gameThread = new GameThread(this.context, getHolder(), this, dinerState);
+            renderSnapshots = new RenderSnapshotBuffer();
+            gameThread = new GameThread(this.context, this, dinerState, renderSnapshots);
             gameOverDialogShown = false;
             gameThread.setRunning(true);
             gameThread.start();
@@ -489,6 +653,14 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
         } else if (dinerState == null){
             Log.e(TAG, "surfaceChanged: Cannot start GameThread, DinerState is null!");
         }
+
+        // RenderThread draws whatever GameThread last published
+        if (renderSnapshots != null && (renderThread == null || !renderThread.isAlive())) {
+            renderThread = new RenderThread(getHolder(), this, renderSnapshots, framePacer);
+            renderThread.setRunning(true);
+            renderThread.start();
+            Log.d(TAG, "RenderThread started");
+        }
     }
 
     @Override
@@ -504,19 +676,19 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
             Log.d(TAG, "SoundPool released.");
         }
 
-        if (heartBitmap != null && !heartBitmap.isRecycled()) {
-            heartBitmap.recycle();
-            heartBitmap = null;
-            Log.d(TAG, "Heart bitmap recycled.");
+        if (spriteAtlas != null) {
+            spriteAtlas.recycle();
+            spriteAtlas = null;
+            Log.d(TAG, "Sprite atlas recycled.");
         }
 
-        for (Bitmap bmp : customerBitmaps.values()) {
-            if (bmp != null && !bmp.isRecycled()) {
-                bmp.recycle();
-            }
+        // RenderThread is stopped, so the layer is no longer in use
+        if (backgroundLayer != null) {
+            backgroundLayer.recycle();
+            backgroundLayer = null;
+            backgroundLayerValid = false;
         }
-        customerBitmaps.clear();
-        Log.d(TAG, "Customer bitmaps recycled and cleared.");
+
 
 
         dinerState = null;
@@ -525,16 +697,10 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
     }
 
 
-    // Method called by GameThread to update game logic
-    public void update(double deltaTime) {
-        if (dinerState != null) {
-            // Convert double deltaTime to float
-            float dt = (float)deltaTime;
-
-            // Update main game state
-            dinerState.update(dt);
-            updateScoreDisplay(dt);
-        }
+    // Called by RenderThread once per rendered frame for view-only animation.
+    // Game state itself is advanced by GameThread in fixed ticks.
+    public void update(double deltaTime, RenderSnapshot snapshot) {
+        updateScoreDisplay((float) deltaTime, snapshot.getScore());
     }
 
 
@@ -565,11 +731,7 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
             Log.w(TAG, "Could not play angry leave sound. Pool:" + (soundPool!=null) + " Loaded:" + soundPoolLoaded + " ID:" + angrySoundId);
         }
     }
-    private void updateScoreDisplay(float dt) {
-        if (dinerState == null) return;
-
-        int actualScore = dinerState.getScore();
-
+    private void updateScoreDisplay(float dt, int actualScore) {
         float diff = actualScore - displayedScore;
 
         if (Math.abs(diff) < 0.5f) {
@@ -579,279 +741,404 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
         }
     }
 
-    public void drawGame(Canvas canvas) {
-        if (canvas == null || dinerState == null) { return; }
+    public void setDirtyRectRendering(boolean enabled) {
+        dirtyRectRendering = enabled;
+        dirtyRegionInvalid = true;
+    }
 
-        // Draw Background
-        canvas.drawColor(backgroundPaint.getColor());
+    public boolean isDirtyRectRendering() {
+        return dirtyRectRendering;
+    }
 
-        if (waitingAreaRect == null || counterRect == null || tableRects == null) {
-            // Layout not ready
-            canvas.drawText("Calculating layout...", getWidth() / 2f, getHeight() / 2f, textPaint);
-            return;
+    // Frames per second to render, or FramePacer.MATCH_DISPLAY for every vsync
+    public void setTargetFrameRate(int fps) {
+        framePacer.setTargetFps(fps);
+    }
+
+    // Caps rendering at FramePacer.LOW_POWER_FPS
+    public void setLowPowerRendering(boolean enabled) {
+        framePacer.setLowPower(enabled);
+    }
+
+    // The next dirty-rect frame repaints everything
+    public void invalidateDirtyRegion() {
+        dirtyRegionInvalid = true;
+    }
+
+    /**
+     * RenderThread only, before lockCanvas. Compares what this snapshot will
+     * draw against the last frame and returns FRAME_UNCHANGED, FRAME_FULL, or
+     * FRAME_PARTIAL with the region to repaint in outDirty.
+     */
+    public int prepareDirtyRegion(RenderSnapshot snapshot, float alpha, int surfaceWidth, int surfaceHeight, Rect outDirty) {
+        DirtyRegionTracker tracker = dirtyRegionTracker;
+        if (dirtyRegionInvalid || !backgroundLayerValid || waitingAreaRect == null || counterRect == null || tableRects == null
+                || floorRect == null || snapshot.isGameOver()) {
+            dirtyRegionInvalid = false;
+            tracker.invalidateAll();
+        }
+        // drawGame reuses this copy, so the tracked regions match what gets drawn
+        synchronized (camera) {
+            frameCamera.set(camera);
+        }
+        frameCameraTaken = true;
+        Camera view = frameCamera;
+        // A pan or zoom moves the whole floor
+        if (view.getKey() != dirtyCameraKey) {
+            dirtyCameraKey = view.getKey();
+            tracker.invalidateAll();
+        }
+        tracker.beginFrame();
+
+        // HUD: score, hearts, level and menu button
+        long hudKey = ((long) (int) displayedScore << 32) ^ (snapshot.getLives() << 16) ^ snapshot.getLevel();
+        tracker.report(DIRTY_SLOT_HUD, hudKey, surfaceWidth - HUD_REGION_WIDTH, 0, surfaceWidth, HUD_REGION_HEIGHT);
+
+        boolean dragging = isDragging;
+        int draggedId = draggedCustomerId;
+        int draggedFoodId = draggedFoodCustomerId;
+        if (dragging) {
+            long dragKey = ((long) Float.floatToIntBits(dragX) << 32) ^ Float.floatToIntBits(dragY) ^ ((long) (draggedId ^ draggedFoodId) << 16);
+            tracker.report(DIRTY_SLOT_DRAG, dragKey, dragX - DRAG_REGION_HALF_SIZE, dragY - DRAG_REGION_HALF_SIZE,
+                    dragX + DRAG_REGION_HALF_SIZE, dragY + DRAG_REGION_HALF_SIZE);
         }
 
-        // Draw Layout Elements (Waiting Area, Counter, Tables)
-        canvas.drawRect(waitingAreaRect, waitingAreaPaint);
-        canvas.drawText("Waiting Area", waitingAreaRect.left + 10, waitingAreaRect.top + 40, textPaint);
-        canvas.drawRect(counterRect, counterPaint);
-        canvas.drawText("Kitchen Counter", counterRect.left + 10, counterRect.top + 40, textPaint);
-        // Draw Tables
-        List<Table> tables = dinerState.getTables();
-        for (Table table : tables) {
-            if (table != null && table.getPositionRect() != null) {
-                canvas.drawRect(table.getPositionRect(), tablePaint);
+        // Counter food items, keyed by which customers' plates are shown in order
+        long counterKey = 17;
+        int foodReadyCount = snapshot.getFoodReadyCount();
+        for (int i = 0; i < foodReadyCount; i++) {
+            int customerId = snapshot.getSeatedId(snapshot.getFoodReadyTable(i));
+            counterKey = counterKey * 31 + (dragging && customerId == draggedFoodId ? -1 : customerId);
+        }
+        tracker.report(DIRTY_SLOT_COUNTER, counterKey, counterRect.left, counterRect.top, counterRect.right, counterRect.bottom + 40f);
+
+        // Tables in view: seated customer, patience bar, indicator above and plate beside
+        int tableCount = snapshot.getTableCount();
+        boolean markers = view.getDetailLevel() == Camera.DETAIL_MARKERS;
+        DinerLayout layout = dinerLayout;
+        int columns = layout.getColumns();
+        int lastRow = layout.lastRow(view.getViewBottom() + TABLE_DECORATION_MARGIN);
+        int firstColumn = layout.firstColumn(view.getViewLeft() - TABLE_DECORATION_MARGIN);
+        int lastColumn = layout.lastColumn(view.getViewRight() + TABLE_DECORATION_MARGIN);
+        for (int row = layout.firstRow(view.getViewTop() - TABLE_DECORATION_MARGIN); row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int t = row * columns + column;
+                if (t >= tableCount) {
+                    break;
+                }
+                int customerId = snapshot.getSeatedId(t);
+                if (customerId == RenderSnapshot.NO_CUSTOMER) {
+                    continue;
+                }
+                Customer.CustomerState state = snapshot.getSeatedState(t);
+                long key = ((long) customerId << 32) ^ (state.ordinal() << 24)
+                        ^ (state != Customer.CustomerState.EATING ? patienceBarKey(snapshot.getSeatedPatience(t, alpha)) : 0);
+                float centerX = (snapshot.getTableLeft(t) + snapshot.getTableRight(t)) / 2f;
+                float centerY = (snapshot.getTableTop(t) + snapshot.getTableBottom(t)) / 2f;
+                float left = view.toScreenX(Math.min(snapshot.getTableLeft(t), centerX - 100f));
+                float top = view.toScreenY(snapshot.getTableTop(t) - 70f);
+                float right = view.toScreenX(Math.max(snapshot.getTableRight(t), centerX + CUSTOMER_ICON_WIDTH / 2f + FOOD_PLATE_DIAMETER + 10f));
+                float bottom = view.toScreenY(Math.max(snapshot.getTableBottom(t), centerY + CUSTOMER_ICON_HEIGHT + 20f));
+                if (markers) {
+                    // The table's dot fills the marker cell it falls in
+                    float cellLeft = floorRect.left + (float) Math.floor((view.toScreenX(centerX) - floorRect.left) / MARKER_CELL_SIZE) * MARKER_CELL_SIZE;
+                    float cellTop = floorRect.top + (float) Math.floor((view.toScreenY(centerY) - floorRect.top) / MARKER_CELL_SIZE) * MARKER_CELL_SIZE;
+                    left = Math.min(left, cellLeft);
+                    top = Math.min(top, cellTop);
+                    right = Math.max(right, cellLeft + MARKER_CELL_SIZE);
+                    bottom = Math.max(bottom, cellTop + MARKER_CELL_SIZE);
+                }
+                tracker.report(DIRTY_SLOT_FIRST_TABLE + t, key, left, top, right, bottom);
             }
         }
 
-        // Clear previous tap areas before recalculating
-        waitingCustomerTapAreas.clear();
-        confirmOrderTapAreas.clear();
-        foodReadyTapAreas.clear();
-        clearTableTapAreas.clear();
-
-        // Draw Waiting Customers
-        List<Customer> waiting = dinerState.getWaitingCustomers();
-        float iconPadding = 5f;
+        // Waiting queue, one slot per visible position
+        float spacing = waitingSlotSpacing;
+        int maxVisibleCustomers = (int) ((waitingAreaRect.height() - 40) / spacing);
+        float slotTop = waitingAreaRect.top + 40;
+        int firstWaitingSlot = DIRTY_SLOT_FIRST_TABLE + tableCount;
+        int drawnCount = 0;
+        int waitingCount = snapshot.getWaitingCount();
+        for (int i = 0; i < waitingCount && drawnCount < maxVisibleCustomers; i++) {
+            int customerId = snapshot.getWaitingId(i);
+            if (dragging && customerId == draggedId) {
+                continue;
+            }
+            long key = ((long) customerId << 32) ^ patienceBarKey(snapshot.getWaitingPatience(i, alpha));
+            tracker.report(firstWaitingSlot + drawnCount, key,
+                    waitingAreaRect.left, slotTop, waitingAreaRect.right, slotTop + spacing);
+            slotTop += spacing;
+            drawnCount++;
+        }
+        tracker.endFrame();
 
-        Paint.FontMetrics fm = customerPaint.getFontMetrics();
-        float textHeight = fm.descent - fm.ascent;
-        float spacing = PATIENCE_BAR_HEIGHT + iconPadding + CUSTOMER_ICON_HEIGHT + iconPadding + textHeight + 10f;
+        if (tracker.takeFullRepaint(surfaceWidth, surfaceHeight, DIRTY_FULL_REPAINT_FRACTION)) {
+            return FRAME_FULL;
+        }
+        if (!tracker.isDirty()) {
+            return FRAME_UNCHANGED;
+        }
+        outDirty.set((int) Math.floor(tracker.getDirtyLeft()), (int) Math.floor(tracker.getDirtyTop()),
+                (int) Math.ceil(tracker.getDirtyRight()), (int) Math.ceil(tracker.getDirtyBottom()));
+        return FRAME_PARTIAL;
+    }
 
-        float waitingAreaCenterX = waitingAreaRect.centerX();
+    // RenderThread. Whether the last frame ran out of counter space, so the warning is logged once per overflow
+    private boolean counterFull;
 
-        synchronized (waiting) {
-            int maxVisibleCustomers = (int) ((waitingAreaRect.height() - 40) / spacing); // Adjust max count based on spacing
-            int drawnCount = 0;
+    // RenderThread. The camera for this frame: copied once, by prepareDirtyRegion if it ran, else by drawGame.
+    private Camera takeFrameCamera() {
+        if (!frameCameraTaken) {
+            synchronized (camera) {
+                frameCamera.set(camera);
+            }
+        }
+        frameCameraTaken = false;
+        return frameCamera;
+    }
 
-            float currentIconTop = waitingAreaRect.top + 40 + iconPadding + PATIENCE_BAR_HEIGHT + iconPadding;
+    // RenderThread; grows the marker bins to cover the floor
+    private void ensureMarkerCells(RectF floor) {
+        markerColumns = Math.max(1, (int) Math.ceil(floor.width() / MARKER_CELL_SIZE));
+        markerRows = Math.max(1, (int) Math.ceil(floor.height() / MARKER_CELL_SIZE));
+        int cells = markerColumns * markerRows;
+        if (markerCount.length < cells) {
+            markerCount = new int[cells];
+            markerUrgency = new int[cells];
+            markerCells = new int[cells];
+            markerCellCount = 0;
+        }
+    }
 
-            for (int i = 0; i < waiting.size(); i++) {
-                if (drawnCount >= maxVisibleCustomers) break;
+    // Drawn patience bar length in pixels plus its colour band
+    private static long patienceBarKey(float patiencePercent) {
+        int band = patiencePercent < 0.3f ? 0 : (patiencePercent < 0.6f ? 1 : 2);
+        return ((long) Math.round(PATIENCE_BAR_WIDTH * patiencePercent) << 2) | band;
+    }
 
-                Customer customer = waiting.get(i);
-                if (customer == null || customer.getState() == Customer.CustomerState.ANGRY_LEFT) continue;
-                if (isDragging && customer == draggedCustomer) continue;
+    // Everything that only changes with calculateLayout; tables move with the camera, so are drawn per frame
+    private void drawStaticLayout(Canvas canvas) {
+        canvas.drawColor(backgroundPaint.getColor());
+        canvas.drawRect(waitingAreaRect, waitingAreaPaint);
+        canvas.drawText("Waiting Area", waitingAreaRect.left + 10, waitingAreaRect.top + 40, textPaint);
+        canvas.drawRect(counterRect, counterPaint);
+        canvas.drawText("Kitchen Counter", counterRect.left + 10, counterRect.top + 40, textPaint);
+    }
 
-                int iconResId = customer.getCustomerIconResId();
-                Bitmap customerBitmap = customerBitmaps.get(iconResId);
-                String customerText = customer.getDisplayId();
+    // RenderThread only; the old layer is recycled here so it is never freed mid-draw
+    private void rebuildBackgroundLayer(int width, int height) {
+        backgroundLayerValid = true;
+        if (backgroundLayer != null && (backgroundLayer.getWidth() != width || backgroundLayer.getHeight() != height)) {
+            backgroundLayer.recycle();
+            backgroundLayer = null;
+        }
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        try {
+            if (backgroundLayer == null) {
+                backgroundLayer = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            }
+            drawStaticLayout(new Canvas(backgroundLayer));
+            Log.d(TAG, "Background layer built (" + width + "x" + height + ")");
+        } catch (OutOfMemoryError e) {
+            // Fall back to drawing the layout every frame
+            Log.e(TAG, "Not enough memory for the background layer", e);
+            backgroundLayer = null;
+        }
+    }
 
-                //  Calculate Positions
-                float iconLeft = waitingAreaCenterX - CUSTOMER_ICON_WIDTH / 2f;
-                float iconTop = currentIconTop;
-                RectF destRect = new RectF(iconLeft, iconTop, iconLeft + CUSTOMER_ICON_WIDTH, iconTop + CUSTOMER_ICON_HEIGHT);
+    // Runs on RenderThread and reads only the snapshot, never live DinerState.
+    // alpha is how far (0..1) the frame sits between the snapshot's previous tick and its last one.
+    public void drawGame(Canvas canvas, RenderSnapshot snapshot, float alpha) {
+        if (canvas == null || snapshot == null) { return; }
 
-                // Bar position (Above icon)
-                float barY = destRect.top - iconPadding - PATIENCE_BAR_HEIGHT;
-                float barX = destRect.left;
+        if (waitingAreaRect == null || counterRect == null || tableRects == null || floorRect == null) {
+            // Layout not ready
+            canvas.drawColor(backgroundPaint.getColor());
+            canvas.drawText("Calculating layout...", getWidth() / 2f, getHeight() / 2f, textPaint);
+            return;
+        }
 
-                // Text position (Below icon)
-                float textDrawX = destRect.centerX();
-                float textDrawY = destRect.bottom + iconPadding + textHeight - fm.descent;
+        // Background, waiting area and counter in one blit
+        if (!backgroundLayerValid || backgroundLayer == null) {
+            rebuildBackgroundLayer(canvas.getWidth(), canvas.getHeight());
+        }
+        if (backgroundLayer != null) {
+            canvas.drawBitmap(backgroundLayer, 0f, 0f, null);
+        } else {
+            drawStaticLayout(canvas);
+        }
+        int tableCount = snapshot.getTableCount();
 
-                // Draw Patience Bar
-                float patiencePercent = customer.getPatiencePercentage();
-                updatePatienceBarColor(patiencePercent);
-                canvas.drawRect(barX, barY, barX + PATIENCE_BAR_WIDTH, barY + PATIENCE_BAR_HEIGHT, patienceBarBgPaint);
-                canvas.drawRect(barX, barY, barX + PATIENCE_BAR_WIDTH * patiencePercent, barY + PATIENCE_BAR_HEIGHT, patienceBarFgPaint);
+        // Clear previous tap areas before recalculating
+        TapTargets tapAreas = drawingTapAreas;
+        tapAreas.clear(canvas.getWidth(), canvas.getHeight());
 
-                // Draw Icon
-                if (customerBitmap != null) {
-                    canvas.drawBitmap(customerBitmap, null, destRect, bitmapPaint);
-                    waitingCustomerTapAreas.add(destRect);
-                } else {
+        // Draw Waiting Customers
+        float iconPadding = 5f;
 
-                    customerPaint.setColor(Color.DKGRAY);
-                    customerPaint.setTextAlign(Paint.Align.CENTER);
-                    canvas.drawText("[IMG]", destRect.centerX(), destRect.centerY(), customerPaint);
-                    waitingCustomerTapAreas.add(destRect);
-                    customerPaint.setTextAlign(Paint.Align.LEFT);
-                }
+        float textHeight = customerLabelHeight;
+        float spacing = waitingSlotSpacing;
 
-                // Draw Text Label
-                customerPaint.setColor(Color.DKGRAY);
-                customerPaint.setTextAlign(Paint.Align.CENTER);
-                canvas.drawText(customerText, textDrawX, textDrawY, customerPaint);
-                customerPaint.setTextAlign(Paint.Align.LEFT);
+        float waitingAreaCenterX = waitingAreaRect.centerX();
 
-                // Add padding
-                currentIconTop += spacing;
-                drawnCount++;
-            }
-        }
+        int maxVisibleCustomers = (int) ((waitingAreaRect.height() - 40) / spacing); // Adjust max count based on spacing
+        int drawnCount = 0;
 
-        // Draw Seated Customers and State Indicators/Food
-        Paint seatedCustomerPaint = customerPaint;
-        seatedCustomerPaint.setTextAlign(Paint.Align.CENTER);
+        float currentIconTop = waitingAreaRect.top + 40 + iconPadding + PATIENCE_BAR_HEIGHT + iconPadding;
 
-        List<Customer> customersWithFoodReady = new ArrayList<>();
+        boolean dragging = isDragging;
+        int draggedId = draggedCustomerId;
+        int draggedFoodId = draggedFoodCustomerId;
+        Customer.CustomerType draggedType = null;
 
-        for (Table table : tables) {
-            if (table != null && table.isOccupied()) {
-                Customer seatedCustomer = table.getSeatedCustomer();
-                if (seatedCustomer == null || seatedCustomer.getState() == Customer.CustomerState.ANGRY_LEFT) continue;
+        int waitingCount = snapshot.getWaitingCount();
+        for (int i = 0; i < waitingCount; i++) {
+            int customerId = snapshot.getWaitingId(i);
+            Customer.CustomerType type = snapshot.getWaitingType(i);
+            if (dragging && customerId == draggedId) {
+                draggedType = type;
+                continue;
+            }
+            if (drawnCount >= maxVisibleCustomers) continue;
 
-                RectF tableRect = table.getPositionRect();
-                float tableCenterX = tableRect.centerX();
+            String customerText = displayIds.get(type, customerId);
 
-                // Get Customer Info
-                String customerText = seatedCustomer.getDisplayId();
-                int iconResId = seatedCustomer.getCustomerIconResId();
-                Bitmap customerBitmap = customerBitmaps.get(iconResId);
+            //  Calculate Positions
+            float iconLeft = waitingAreaCenterX - CUSTOMER_ICON_WIDTH / 2f;
+            float iconTop = currentIconTop;
+            float iconRight = iconLeft + CUSTOMER_ICON_WIDTH;
+            float iconBottom = iconTop + CUSTOMER_ICON_HEIGHT;
 
-                // Calculate Icon Position
-                float iconWidth = CUSTOMER_ICON_WIDTH;
-                float iconHeight = CUSTOMER_ICON_HEIGHT;
-                float iconLeft = tableCenterX - iconWidth / 2f;
-                float iconCenterY = tableRect.centerY() - iconHeight * 0.1f;
-                float iconTop = iconCenterY - iconHeight / 2f;
-                RectF iconDestRect = new RectF(iconLeft, iconTop, iconLeft + iconWidth, iconTop + iconHeight);
+            // Bar position (Above icon)
+            float barY = iconTop - iconPadding - PATIENCE_BAR_HEIGHT;
+            float barX = iconLeft;
 
-                // Calculate Bar Position
-                float barX = tableCenterX - PATIENCE_BAR_WIDTH / 2.0f;
-                float barY = iconDestRect.top - PATIENCE_BAR_HEIGHT - 5f;
+            // Text position (Below icon)
+            float textDrawX = waitingAreaCenterX;
+            float textDrawY = iconBottom + iconPadding + textHeight - customerLabelDescent;
 
-                // Calculate Text Position
-                seatedCustomerPaint.getTextBounds(customerText, 0, customerText.length(), textBounds);
-                float textDrawY_seated = iconDestRect.bottom + textBounds.height() + 5f;
+            // Draw Patience Bar
+            float patiencePercent = snapshot.getWaitingPatience(i, alpha);
+            updatePatienceBarColor(patiencePercent);
+            canvas.drawRect(barX, barY, barX + PATIENCE_BAR_WIDTH, barY + PATIENCE_BAR_HEIGHT, patienceBarBgPaint);
+            canvas.drawRect(barX, barY, barX + PATIENCE_BAR_WIDTH * patiencePercent, barY + PATIENCE_BAR_HEIGHT, patienceBarFgPaint);
 
+            // Draw Icon
+            if (spriteAtlas != null && spriteAtlas.hasCustomer(type)) {
+                spriteAtlas.drawCustomer(canvas, type, iconLeft, iconTop, bitmapPaint);
+            } else {
+                canvas.drawText("[IMG]", waitingAreaCenterX, iconTop + CUSTOMER_ICON_HEIGHT / 2f, customerPaint);
+            }
+            tapAreas.add(TapTargets.WAITING_CUSTOMER, customerId, iconLeft, iconTop, iconRight, iconBottom);
 
-                if (customerBitmap != null) {
-                    canvas.drawBitmap(customerBitmap, null, iconDestRect, bitmapPaint);
-                } else {
-                    seatedCustomerPaint.setColor(Color.DKGRAY);
-                    canvas.drawText("[IMG]", tableCenterX, tableRect.centerY(), seatedCustomerPaint);
-                }
+            // Draw Text Label
+            canvas.drawText(customerText, textDrawX, textDrawY, customerPaint);
 
-                // Draw Patience Bar
-                if (seatedCustomer.getState() != Customer.CustomerState.EATING) {
-                    float patiencePercent = seatedCustomer.getPatiencePercentage();
-                    updatePatienceBarColor(patiencePercent);
-                    canvas.drawRect(barX, barY, barX + PATIENCE_BAR_WIDTH, barY + PATIENCE_BAR_HEIGHT, patienceBarBgPaint);
-                    canvas.drawRect(barX, barY, barX + PATIENCE_BAR_WIDTH * patiencePercent, barY + PATIENCE_BAR_HEIGHT, patienceBarFgPaint);
-                }
+            // Add padding
+            currentIconTop += spacing;
+            drawnCount++;
+        }
 
-                //  Draw Customer Text Label
-                seatedCustomerPaint.setColor(Color.DKGRAY);
-                canvas.drawText(customerText, tableCenterX, textDrawY_seated, seatedCustomerPaint);
-
-
-                // Draw State Indicators OR Food on Table
-                float indicatorPadding = 10f;
-
-                if (seatedCustomer.getState() == Customer.CustomerState.WAITING_ORDER_CONFIRM) {
-                    // Draw 'ORDER' indicator (Above Table)
-                    float indicatorWidth = 200f;
-                    float indicatorHeight = 50f;
-                    float indicatorX = tableCenterX - indicatorWidth / 2.0f;
-                    float indicatorY = tableRect.top - indicatorPadding - indicatorHeight;
-
-
-                    String indicatorText = "Take ORDER";
-                    RectF indicatorRect = new RectF(indicatorX, indicatorY, indicatorX + indicatorWidth, indicatorY + indicatorHeight);
-                    confirmOrderTapAreas.add(new Pair<>(indicatorRect, seatedCustomer));
-                    canvas.drawRect(indicatorRect, orderIndicatorPaint);
-                    orderIndicatorTextPaint.getTextBounds(indicatorText, 0, indicatorText.length(), textBounds);
-                    float indicatorTextY = indicatorRect.centerY() + textBounds.height() / 2.0f;
-                    canvas.drawText(indicatorText, indicatorRect.centerX(), indicatorTextY, orderIndicatorTextPaint);
-
-                } else if (seatedCustomer.getState() == Customer.CustomerState.FOOD_READY) {
-                    // Collect customer for drawing food on counter later
-                    customersWithFoodReady.add(seatedCustomer);
-
-                } else if (seatedCustomer.getState() == Customer.CustomerState.EATING) {
-                    float plateRadius = FOOD_PLATE_DIAMETER / 2f;
-                    float foodRadius = plateRadius * 0.65f;
-                    float plateX = iconDestRect.right + plateRadius + 5f;
-                    float plateY = iconDestRect.centerY();
-                    canvas.drawCircle(plateX, plateY, plateRadius, foodReadyIndicatorPaint);
-                    canvas.drawCircle(plateX, plateY, foodRadius, foodItemPaint);
-                } else if (seatedCustomer.getState() == Customer.CustomerState.READY_TO_LEAVE) {
-                    // Draw "DONE" indicator
-                    float indicatorWidth = 200f;
-                    float indicatorHeight = 50f;
-                    float indicatorX = tableCenterX - indicatorWidth / 2.0f;
-                    float indicatorY = tableRect.top - indicatorPadding - indicatorHeight;
-
-                    String indicatorText = "DONE";
-                    RectF indicatorRect = new RectF(indicatorX, indicatorY, indicatorX + indicatorWidth, indicatorY + indicatorHeight);
-                    clearTableTapAreas.add(new Pair<>(indicatorRect, seatedCustomer));
-                    canvas.drawRect(indicatorRect, clearTableIndicatorPaint);
-                    clearTableIndicatorTextPaint.getTextBounds(indicatorText, 0, indicatorText.length(), textBounds);
-                    float indicatorTextY = indicatorRect.centerY() + textBounds.height() / 2.0f;
-                    canvas.drawText(indicatorText, indicatorRect.centerX(), indicatorTextY, clearTableIndicatorTextPaint); // Use text paint
+        // Floor: only tables in view, drawn in world coordinates through the camera
+        Camera view = takeFrameCamera();
+        int detail = view.getDetailLevel();
+        float zoom = view.getZoom();
+        if (detail == Camera.DETAIL_MARKERS) {
+            ensureMarkerCells(floorRect);
+        }
+        canvas.save();
+        canvas.clipRect(floorRect);
+        canvas.translate(view.getTranslateX(), view.getTranslateY());
+        canvas.scale(zoom, zoom);
+        DinerLayout layout = dinerLayout;
+        int columns = layout.getColumns();
+        int lastRow = layout.lastRow(view.getViewBottom() + TABLE_DECORATION_MARGIN);
+        int firstColumn = layout.firstColumn(view.getViewLeft() - TABLE_DECORATION_MARGIN);
+        int lastColumn = layout.lastColumn(view.getViewRight() + TABLE_DECORATION_MARGIN);
+        for (int row = layout.firstRow(view.getViewTop() - TABLE_DECORATION_MARGIN); row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int t = row * columns + column;
+                if (t >= tableCount) {
+                    break;
                 }
+                drawTable(canvas, snapshot, t, alpha, view, detail, tapAreas);
             }
         }
-        // Reset alignment
-        seatedCustomerPaint.setTextAlign(Paint.Align.LEFT);
-        customerPaint.setTextAlign(Paint.Align.LEFT);
+        canvas.restore();
+        if (detail == Camera.DETAIL_MARKERS) {
+            drawMarkers(canvas);
+        }
 
         // Draw Food Ready Indicators ON THE COUNTER
-        if (!customersWithFoodReady.isEmpty()) {
+        int foodReadyCount = snapshot.getFoodReadyCount();
+        if (foodReadyCount > 0) {
             float foodIndicatorSize = FOOD_PLATE_DIAMETER;
             float foodSpacing = 15f;
             float startX = counterRect.left + foodSpacing + foodIndicatorSize / 2f;
             float counterItemY = counterRect.centerY();
+            boolean full = false;
 
-            for (int i = 0; i < customersWithFoodReady.size(); i++) {
-                Customer customer = customersWithFoodReady.get(i);
-                if (customer == null) continue;
+            for (int i = 0; i < foodReadyCount; i++) {
+                int table = snapshot.getFoodReadyTable(i);
+                int customerId = snapshot.getSeatedId(table);
 
-                if (isDragging && customer == draggedFoodCustomer) {
-                    Log.d(TAG, "Skipping draw food on counter for dragged item: " + customer.getDisplayId());
+                if (dragging && customerId == draggedFoodId) {
+                    if (DinerLog.isDebugEnabled()) {
+                        DinerLog.d(TAG, "Skipping draw food on counter for dragged item: " + customerId);
+                    }
                     continue;
                 }
 
                 float currentX = startX + i * (foodIndicatorSize + foodSpacing);
-                RectF indicatorRect = new RectF(
-                        currentX - foodIndicatorSize / 2f, counterItemY - foodIndicatorSize / 2f,
-                        currentX + foodIndicatorSize / 2f, counterItemY + foodIndicatorSize / 2f
-                );
+                float indicatorRight = currentX + foodIndicatorSize / 2f;
 
-                if (indicatorRect.right > counterRect.right - foodSpacing) {
-                    Log.w(TAG, "Counter full, not drawing more food indicators.");
+                if (indicatorRight > counterRect.right - foodSpacing) {
+                    full = true;
                     break;
                 }
 
-                foodReadyTapAreas.add(new Pair<>(indicatorRect, customer));
+                tapAreas.add(TapTargets.FOOD_READY, customerId,
+                        currentX - foodIndicatorSize / 2f, counterItemY - foodIndicatorSize / 2f,
+                        indicatorRight, counterItemY + foodIndicatorSize / 2f);
 
                 float plateRadius_counter = foodIndicatorSize / 2f;
                 canvas.drawCircle(currentX, counterItemY, plateRadius_counter, foodReadyIndicatorPaint);
                 float foodRadius_counter = plateRadius_counter * 0.65f;
                 canvas.drawCircle(currentX, counterItemY, foodRadius_counter, foodItemPaint);
 
-                textPaint.setTextSize(35f);
-                textPaint.setTextAlign(Paint.Align.CENTER);
-                canvas.drawText(customer.getDisplayId(), currentX, counterItemY + foodIndicatorSize / 2f + 20f, textPaint);
-                textPaint.setTextSize(35f);
-                textPaint.setTextAlign(Paint.Align.LEFT);
+                canvas.drawText(displayIds.get(snapshot.getSeatedType(table), customerId),
+                        currentX, counterItemY + foodIndicatorSize / 2f + 20f, counterLabelPaint);
+            }
+            if (full && !counterFull && DinerLog.isLoggable(DinerLog.WARN)) {
+                DinerLog.w(TAG, "Counter full, not drawing more food indicators.");
             }
+            counterFull = full;
+        } else {
+            counterFull = false;
+        }
+
+        // Hand the finished hit targets to the UI thread
+        synchronized (tapAreaLock) {
+            drawingTapAreas = touchTapAreas;
+            touchTapAreas = tapAreas;
         }
 
 
         //  Draw the item currently being DRAGGED
-        if (isDragging) {
+        if (dragging) {
 
-            if (draggedCustomer != null) {
+            if (draggedId != RenderSnapshot.NO_CUSTOMER) {
                 //  Draw Dragged Customer Icon
-                int iconResId = draggedCustomer.getCustomerIconResId();
-                Bitmap customerBitmap = customerBitmaps.get(iconResId);
-                if (customerBitmap != null) {
-                    float iconWidth = CUSTOMER_ICON_WIDTH;
-                    float iconHeight = CUSTOMER_ICON_HEIGHT;
-                    float iconLeft = dragX - iconWidth / 2f;
-                    float iconTop = dragY - iconHeight / 2f;
-                    RectF destRect = new RectF(iconLeft, iconTop, iconLeft + iconWidth, iconTop + iconHeight);
-                    canvas.drawBitmap(customerBitmap, null, destRect, bitmapPaint);
-                } else {
-
-                    selectedCustomerPaint.setTextAlign(Paint.Align.CENTER);
-                    canvas.drawText(draggedCustomer.getDisplayId(), dragX, dragY, selectedCustomerPaint);
-                    selectedCustomerPaint.setTextAlign(Paint.Align.LEFT);
+                if (draggedType != null && spriteAtlas != null && spriteAtlas.hasCustomer(draggedType)) {
+                    float iconLeft = dragX - CUSTOMER_ICON_WIDTH / 2f;
+                    float iconTop = dragY - CUSTOMER_ICON_HEIGHT / 2f;
+                    spriteAtlas.drawCustomer(canvas, draggedType, iconLeft, iconTop, bitmapPaint);
+                } else if (draggedType != null) {
+                    canvas.drawText(displayIds.get(draggedType, draggedId), dragX, dragY, selectedCustomerPaint);
                 }
-            } else if (draggedFoodCustomer != null) {
+            } else if (draggedFoodId != RenderSnapshot.NO_CUSTOMER) {
 
                 float plateRadius_drag = FOOD_PLATE_DIAMETER / 2f;
                 float foodRadius_drag = plateRadius_drag * 0.65f;
@@ -868,26 +1155,17 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
         float uiPaddingRight = 30f;
         float uiVerticalSpacing = 5f;
 
-        // Setup Paint for UI
-        uiTextPaint.setTextAlign(Paint.Align.RIGHT);
-        uiTextPaint.setColor(Color.BLACK);
-        uiTextPaint.setTextSize(40f);
-
         // Calculate Score Position & Draw
         float scoreX = canvas.getWidth() - uiPaddingRight;
-        String scoreText = String.format(Locale.US, "Score: %d", (int) displayedScore);
-
-        Paint.FontMetrics scoreFm = uiTextPaint.getFontMetrics();
-        float scoreTextHeight = scoreFm.descent - scoreFm.ascent;
-
-        canvas.drawText(scoreText, scoreX, uiPaddingTop + scoreTextHeight, uiTextPaint);
+        scoreLabel.set((int) displayedScore);
+        canvas.drawText(scoreLabel.getChars(), 0, scoreLabel.length(), scoreX, uiPaddingTop + scoreTextHeight, uiTextPaint);
 
 
         float heartsY = uiPaddingTop + scoreTextHeight + uiVerticalSpacing;
 
         // Draw Lives
-        if (dinerState != null && heartBitmap != null) {
-            int currentLives = dinerState.getPlayerLives();
+        if (spriteAtlas != null && spriteAtlas.hasHeart()) {
+            int currentLives = snapshot.getLives();
             if (currentLives > 0) {
                 // Calculate total width needed for the hearts
                 float totalHeartWidth = (currentLives * HEART_SIZE) + (Math.max(0, currentLives - 1) * HEART_SPACING);
@@ -896,20 +1174,16 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
 
                 for (int i = 0; i < currentLives; i++) {
                     float heartX = startHeartX + i * (HEART_SIZE + HEART_SPACING);
-                    canvas.drawBitmap(heartBitmap, heartX, heartsY, bitmapPaint);
+                    spriteAtlas.drawHeart(canvas, heartX, heartsY, bitmapPaint);
                 }
             }
 
             heartsY += HEART_SIZE;
 
-        } else if (heartBitmap == null) {
-            uiTextPaint.setTextSize(35f);
-            Paint.FontMetrics fallbackFm = uiTextPaint.getFontMetrics();
-            float fallbackTextHeight = fallbackFm.descent - fallbackFm.ascent;
-            String livesFallbackText = "Lives: " + (dinerState != null ? dinerState.getPlayerLives() : "?");
-            canvas.drawText(livesFallbackText, scoreX, heartsY + fallbackTextHeight, uiTextPaint);
-            Log.w(TAG, "Heart bitmap is null, drawing text fallback for lives.");
-            heartsY += fallbackTextHeight;
+        } else {
+            livesLabel.set(snapshot.getLives());
+            canvas.drawText(livesLabel.getChars(), 0, livesLabel.length(), scoreX, heartsY + livesTextHeight, livesTextPaint);
+            heartsY += livesTextHeight;
         }
 
 
@@ -918,53 +1192,34 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
         float levelY = heartsY + uiVerticalSpacing;
 
         //  Draw Level
-        if (dinerState != null) {
-            String levelText = String.format(Locale.US, "Level: %d", dinerState.getCurrentLevel());
-            uiTextPaint.setColor(Color.DKGRAY);
-            uiTextPaint.setTextSize(35f);
-
-            Paint.FontMetrics levelFm = uiTextPaint.getFontMetrics();
-            float levelTextHeight = levelFm.descent - levelFm.ascent;
-
-            canvas.drawText(levelText, scoreX, levelY + levelTextHeight, uiTextPaint);
-        }
-
-
-        uiTextPaint.setTextAlign(Paint.Align.LEFT);
+        levelLabel.set(snapshot.getLevel());
+        canvas.drawText(levelLabel.getChars(), 0, levelLabel.length(), scoreX, levelY + levelTextHeight, levelTextPaint);
 
         // Draw Menu Button
-        if (dinerState != null && !dinerState.isGameOver()) {
-            float buttonLeft = canvas.getWidth() - MENU_BUTTON_WIDTH - MENU_BUTTON_MARGIN;
-            float buttonTop = MENU_BUTTON_MARGIN;
-
-            menuButtonArea = new RectF(
-                    buttonLeft,
-                    buttonTop,
-                    buttonLeft + MENU_BUTTON_WIDTH,
-                    buttonTop + MENU_BUTTON_HEIGHT
-            );
+        RectF menuArea = menuButtonArea;
+        if (!snapshot.isGameOver() && menuArea != null) {
+            canvas.drawRect(menuArea, menuButtonPaint);
 
-            canvas.drawRect(menuButtonArea, menuButtonPaint);
-
-            float textX = menuButtonArea.centerX();
-            float textY = menuButtonArea.centerY() - ((menuButtonTextPaint.descent() + menuButtonTextPaint.ascent()) / 2f);
+            float textX = menuArea.centerX();
+            float textY = menuArea.centerY() - menuButtonTextOffset;
             canvas.drawText("Menu", textX, textY, menuButtonTextPaint);
-
+            menuButtonVisible = true;
         } else {
-            menuButtonArea = null;
+            menuButtonVisible = false;
         }
 
         // Game Over Dialog Trigger
-        if (dinerState != null && dinerState.isGameOver() && !gameOverDialogShown && !isPaused()) {
+        if (snapshot.isGameOver() && !gameOverDialogShown && !isPaused()) {
             gameOverDialogShown = true;
             pauseGame();
+            final int finalScore = snapshot.getScore();
 
             if (context instanceof Activity) {
                 Log.d(TAG, "Game Over detected! Posting task to show dialog.");
                 ((Activity) context).runOnUiThread(() -> {
                     if (context instanceof GameActivity && !((GameActivity) context).isFinishing()) {
                         Log.d(TAG, "Running on UI thread to show Game Over dialog.");
-                        ((GameActivity) context).showGameOverDialog(dinerState.getScore());
+                        ((GameActivity) context).showGameOverDialog(finalScore);
                     }
                 });
             } else {
@@ -974,24 +1229,183 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
 
 
         // Draw Game Over Message
-        if (dinerState != null && dinerState.isGameOver()) {
-            String endMessage = "GAME OVER!";
-            Paint endPaint = new Paint();
-            endPaint.setTextAlign(Paint.Align.CENTER);
-            endPaint.setTextSize(80f);
-            endPaint.setFakeBoldText(true);
-            endPaint.setColor(Color.RED);
-
+        if (snapshot.isGameOver()) {
             float centerX = canvas.getWidth() / 2f;
             float centerY = canvas.getHeight() / 2f;
-            canvas.drawText(endMessage, centerX, centerY, endPaint);
+            canvas.drawText("GAME OVER!", centerX, centerY, gameOverPaint);
+            finalScoreLabel.set(snapshot.getScore());
+            canvas.drawText(finalScoreLabel.getChars(), 0, finalScoreLabel.length(), centerX, centerY + 80, finalScorePaint);
+        }
+    }
+
+
+    // One table in world coordinates; hit targets are registered in screen coordinates
+    private void drawTable(Canvas canvas, RenderSnapshot snapshot, int t, float alpha,
+                           Camera view, int detail, TapTargets tapAreas) {
+        float tableLeft = snapshot.getTableLeft(t);
+        float tableTop = snapshot.getTableTop(t);
+        float tableRight = snapshot.getTableRight(t);
+        float tableBottom = snapshot.getTableBottom(t);
+        canvas.drawRect(tableLeft, tableTop, tableRight, tableBottom, tablePaint);
+        // Drop target; table ids match their index in the layout
+        addFloorTarget(tapAreas, view, TapTargets.TABLE, t, tableLeft, tableTop, tableRight, tableBottom);
+
+        int customerId = snapshot.getSeatedId(t);
+        if (customerId == RenderSnapshot.NO_CUSTOMER) return;
+        Customer.CustomerType type = snapshot.getSeatedType(t);
+        Customer.CustomerState state = snapshot.getSeatedState(t);
+
+        float tableCenterX = (tableLeft + tableRight) / 2f;
+        float tableCenterY = (tableTop + tableBottom) / 2f;
+
+        if (detail == Camera.DETAIL_MARKERS) {
+            addMarker(view.toScreenX(tableCenterX), view.toScreenY(tableCenterY), markerUrgency(snapshot, t, state, alpha));
+            return;
+        }
+        boolean fullDetail = detail == Camera.DETAIL_FULL;
 
-            String finalScoreText = "Final Score: " + dinerState.getScore();
-            endPaint.setTextSize(50f);
-            canvas.drawText(finalScoreText, centerX, centerY + 80, endPaint);
+        // Calculate Icon Position
+        float iconWidth = CUSTOMER_ICON_WIDTH;
+        float iconHeight = CUSTOMER_ICON_HEIGHT;
+        float iconLeft = tableCenterX - iconWidth / 2f;
+        float iconCenterY = tableCenterY - iconHeight * 0.1f;
+        float iconTop = iconCenterY - iconHeight / 2f;
+        float iconRight = iconLeft + iconWidth;
+        float iconBottom = iconTop + iconHeight;
+
+        // Calculate Bar Position
+        float barX = tableCenterX - PATIENCE_BAR_WIDTH / 2.0f;
+        float barY = iconTop - PATIENCE_BAR_HEIGHT - 5f;
+
+        // Calculate Text Position
+        float textDrawY_seated = iconBottom + seatedLabelHeight + 5f;
+
+
+        if (spriteAtlas != null && spriteAtlas.hasCustomer(type)) {
+            spriteAtlas.drawCustomer(canvas, type, iconLeft, iconTop, bitmapPaint);
+        } else if (fullDetail) {
+            canvas.drawText("[IMG]", tableCenterX, tableCenterY, customerPaint);
+        }
+
+        // Patience bar and label are unreadable when zoomed out
+        if (fullDetail) {
+            if (state != Customer.CustomerState.EATING) {
+                float patiencePercent = snapshot.getSeatedPatience(t, alpha);
+                updatePatienceBarColor(patiencePercent);
+                canvas.drawRect(barX, barY, barX + PATIENCE_BAR_WIDTH, barY + PATIENCE_BAR_HEIGHT, patienceBarBgPaint);
+                canvas.drawRect(barX, barY, barX + PATIENCE_BAR_WIDTH * patiencePercent, barY + PATIENCE_BAR_HEIGHT, patienceBarFgPaint);
+            }
+
+            canvas.drawText(displayIds.get(type, customerId), tableCenterX, textDrawY_seated, customerPaint);
+        }
+
+
+        // Draw State Indicators OR Food on Table
+        float indicatorPadding = 10f;
+
+        if (state == Customer.CustomerState.WAITING_ORDER_CONFIRM) {
+            // Draw 'ORDER' indicator (Above Table)
+            float indicatorWidth = 200f;
+            float indicatorHeight = 50f;
+            float indicatorX = tableCenterX - indicatorWidth / 2.0f;
+            float indicatorY = tableTop - indicatorPadding - indicatorHeight;
+
+
+            float indicatorRight = indicatorX + indicatorWidth;
+            float indicatorBottom = indicatorY + indicatorHeight;
+            addFloorTarget(tapAreas, view, TapTargets.CONFIRM_ORDER, customerId, indicatorX, indicatorY, indicatorRight, indicatorBottom);
+            canvas.drawRect(indicatorX, indicatorY, indicatorRight, indicatorBottom, orderIndicatorPaint);
+            if (fullDetail) {
+                float indicatorTextY = indicatorY + indicatorHeight / 2f + orderIndicatorTextOffset;
+                canvas.drawText(ORDER_INDICATOR_TEXT, tableCenterX, indicatorTextY, orderIndicatorTextPaint);
+            }
+
+        } else if (state == Customer.CustomerState.EATING) {
+            float plateRadius = FOOD_PLATE_DIAMETER / 2f;
+            float foodRadius = plateRadius * 0.65f;
+            float plateX = iconRight + plateRadius + 5f;
+            float plateY = iconCenterY;
+            canvas.drawCircle(plateX, plateY, plateRadius, foodReadyIndicatorPaint);
+            canvas.drawCircle(plateX, plateY, foodRadius, foodItemPaint);
+        } else if (state == Customer.CustomerState.READY_TO_LEAVE) {
+            // Draw "DONE" indicator
+            float indicatorWidth = 200f;
+            float indicatorHeight = 50f;
+            float indicatorX = tableCenterX - indicatorWidth / 2.0f;
+            float indicatorY = tableTop - indicatorPadding - indicatorHeight;
+
+            float indicatorRight = indicatorX + indicatorWidth;
+            float indicatorBottom = indicatorY + indicatorHeight;
+            addFloorTarget(tapAreas, view, TapTargets.CLEAR_TABLE, customerId, indicatorX, indicatorY, indicatorRight, indicatorBottom);
+            canvas.drawRect(indicatorX, indicatorY, indicatorRight, indicatorBottom, clearTableIndicatorPaint);
+            if (fullDetail) {
+                float indicatorTextY = indicatorY + indicatorHeight / 2f + clearTableIndicatorTextOffset;
+                canvas.drawText(CLEAR_TABLE_INDICATOR_TEXT, tableCenterX, indicatorTextY, clearTableIndicatorTextPaint);
+            }
+        }
+    }
+
+    // Registers a world-space target by its on-screen part, so nothing hidden outside the floor can be hit
+    private void addFloorTarget(TapTargets tapAreas, Camera view, int kind, int id,
+                                float left, float top, float right, float bottom) {
+        RectF floor = floorRect;
+        float screenLeft = Math.max(floor.left, view.toScreenX(left));
+        float screenTop = Math.max(floor.top, view.toScreenY(top));
+        float screenRight = Math.min(floor.right, view.toScreenX(right));
+        float screenBottom = Math.min(floor.bottom, view.toScreenY(bottom));
+        if (screenLeft < screenRight && screenTop < screenBottom) {
+            tapAreas.add(kind, id, screenLeft, screenTop, screenRight, screenBottom);
+        }
+    }
+
+    // 0: content, 1: waiting on the player, 2: about to leave angry
+    private static int markerUrgency(RenderSnapshot snapshot, int t, Customer.CustomerState state, float alpha) {
+        if (state != Customer.CustomerState.EATING && snapshot.getSeatedPatience(t, alpha) < 0.3f) {
+            return 2;
+        }
+        switch (state) {
+            case WAITING_ORDER_CONFIRM:
+            case FOOD_READY:
+            case READY_TO_LEAVE:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    // Bins an occupied table into the marker cell under its screen position
+    private void addMarker(float screenX, float screenY, int urgency) {
+        RectF floor = floorRect;
+        int column = (int) ((screenX - floor.left) / MARKER_CELL_SIZE);
+        int row = (int) ((screenY - floor.top) / MARKER_CELL_SIZE);
+        if (screenX < floor.left || screenY < floor.top || column >= markerColumns || row >= markerRows) {
+            return;
+        }
+        int cell = row * markerColumns + column;
+        if (markerCount[cell] == 0) {
+            markerCells[markerCellCount++] = cell;
+            markerUrgency[cell] = urgency;
+        } else {
+            markerUrgency[cell] = Math.max(markerUrgency[cell], urgency);
         }
+        markerCount[cell]++;
     }
 
+    // One dot per cell holding occupied tables, sized by how many and coloured by the most urgent
+    private void drawMarkers(Canvas canvas) {
+        RectF floor = floorRect;
+        for (int i = 0; i < markerCellCount; i++) {
+            int cell = markerCells[i];
+            float centerX = floor.left + (cell % markerColumns + 0.5f) * MARKER_CELL_SIZE;
+            float centerY = floor.top + (cell / markerColumns + 0.5f) * MARKER_CELL_SIZE;
+            float radius = Math.min(MARKER_CELL_SIZE / 2f, MARKER_MIN_RADIUS + 2f * markerCount[cell]);
+            int urgency = markerUrgency[cell];
+            markerPaint.setColor(urgency == 2 ? Color.RED : (urgency == 1 ? Color.YELLOW : Color.GREEN));
+            canvas.drawCircle(centerX, centerY, radius, markerPaint);
+            markerCount[cell] = 0;
+        }
+        markerCellCount = 0;
+    }
 
     private void updatePatienceBarColor(float percentage) {
         if (percentage < 0.3f) patienceBarFgPaint.setColor(Color.RED);
@@ -1010,10 +1424,11 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
 
         if (event.getAction() == MotionEvent.ACTION_DOWN) {
             // Check if tap is within the MENU button area (only if it's currently drawn)
-            if (menuButtonArea != null && dinerState !=null && !dinerState.isGameOver()) {
+            RectF menuArea = menuButtonArea;
+            if (menuButtonVisible && menuArea != null && dinerState !=null && !dinerState.isGameOver()) {
                 float touchX = event.getX();
                 float touchY = event.getY();
-                if (menuButtonArea.contains(touchX, touchY)) {
+                if (menuArea.contains(touchX, touchY)) {
                     Log.d(TAG, "Menu button tapped!");
                     performClick();
                     pauseGame();
@@ -1036,86 +1451,105 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
         float touchX = event.getX();
         float touchY = event.getY();
 
+        // Diners bigger than the floor can be pinch-zoomed and panned
+        boolean cameraMovable;
+        synchronized (camera) {
+            cameraMovable = camera.isWorldLargerThanView();
+        }
+        if (cameraMovable) {
+            scaleDetector.onTouchEvent(event);
+            if (scaleDetector.isInProgress()) {
+                panning = false;
+                return true;
+            }
+        }
+
         switch (event.getAction()) {
             case MotionEvent.ACTION_DOWN:
-                Log.d(TAG, "ACTION_DOWN at (" + touchX + ", " + touchY + ")");
+                if (DinerLog.isDebugEnabled()) {
+                    Log.d(TAG, "ACTION_DOWN at (" + touchX + ", " + touchY + ")");
+                }
                 boolean handledDownEvent = false;
 
-                // Tap on WAITING customer (to start drag)
-                List<Customer> waiting = dinerState.getWaitingCustomers();
-                for (int i = 0; i < waitingCustomerTapAreas.size(); i++) {
+                // Hit targets are from the last drawn frame; the game thread re-validates every command
+                synchronized (tapAreaLock) {
+                    TapTargets tapAreas = touchTapAreas;
 
-                    RectF tapArea = waitingCustomerTapAreas.get(i);
-                    Customer potentialDragCustomer;
-                    try { potentialDragCustomer = waiting.get(i); } catch (IndexOutOfBoundsException e) { continue; }
-
-                    if (potentialDragCustomer != null && tapArea.contains(touchX, touchY) && potentialDragCustomer.getState() == Customer.CustomerState.WAITING_QUEUE) {
-                        isDragging = true;
-                        draggedCustomer = potentialDragCustomer;
-                        draggedFoodCustomer = null;
+                    // Tap on WAITING customer (to start drag)
+                    int customerId = tapAreas.find(TapTargets.WAITING_CUSTOMER, touchX, touchY);
+                    if (customerId != TapTargets.NO_TARGET) {
+                        draggedCustomerId = customerId;
+                        draggedFoodCustomerId = RenderSnapshot.NO_CUSTOMER;
                         dragX = touchX;
                         dragY = touchY;
-                        Log.i(TAG, "Started dragging waiting customer: " + draggedCustomer.getDisplayId());
+                        isDragging = true;
+                        if (DinerLog.isLoggable(DinerLog.INFO)) {
+                            Log.i(TAG, "Started dragging waiting customer: " + customerId);
+                        }
                         handledDownEvent = true;
-                        break;
                     }
-                }
-
-                if (!isDragging) {
 
                     // Tap on 'OK' Order Confirmation Button
-                    for (Pair<RectF, Customer> pair : confirmOrderTapAreas) {
-                        RectF area = pair.first;
-                        Customer customer = pair.second;
-                        if (area != null && customer != null && customer.getState() == Customer.CustomerState.WAITING_ORDER_CONFIRM && area.contains(touchX, touchY)) {
-                            Log.d(TAG, "Tap hit CONFIRM ORDER indicator for " + customer.getDisplayId());
-                            dinerState.confirmCustomerOrder(customer);
+                    if (!handledDownEvent) {
+                        customerId = tapAreas.find(TapTargets.CONFIRM_ORDER, touchX, touchY);
+                        if (customerId != TapTargets.NO_TARGET) {
+                            if (DinerLog.isDebugEnabled()) {
+                                Log.d(TAG, "Tap hit CONFIRM ORDER indicator for " + customerId);
+                            }
+                            dinerState.postConfirmOrder(customerId);
                             handledDownEvent = true;
-                            break;
                         }
                     }
 
                     // Tap on FOOD on Counter (to start drag)
                     if (!handledDownEvent) {
-                        for (Pair<RectF, Customer> pair : foodReadyTapAreas) {
-                            RectF area = pair.first;
-                            Customer foodCustomer = pair.second;
-
-                            // Check tap hit and ensure customer is still expecting food
-                            if (area != null && foodCustomer != null && foodCustomer.getState() == Customer.CustomerState.FOOD_READY && area.contains(touchX, touchY)) {
-                                isDragging = true;
-                                draggedFoodCustomer = foodCustomer;
-                                draggedCustomer = null;
-                                dragX = touchX;
-                                dragY = touchY;
-                                Log.i(TAG, "Started dragging FOOD for customer: " + draggedFoodCustomer.getDisplayId());
-                                handledDownEvent = true;
-                                break;
+                        customerId = tapAreas.find(TapTargets.FOOD_READY, touchX, touchY);
+                        if (customerId != TapTargets.NO_TARGET) {
+                            draggedFoodCustomerId = customerId;
+                            draggedCustomerId = RenderSnapshot.NO_CUSTOMER;
+                            dragX = touchX;
+                            dragY = touchY;
+                            isDragging = true;
+                            if (DinerLog.isLoggable(DinerLog.INFO)) {
+                                Log.i(TAG, "Started dragging FOOD for customer: " + customerId);
                             }
+                            handledDownEvent = true;
                         }
                     }
-                    // ------------------------------------------------------
-                    if (!handledDownEvent) {
-                        for (Pair<RectF, Customer> pair : clearTableTapAreas) {
-                            RectF area = pair.first;
-                            Customer customer = pair.second;
 
-                            if (area != null && customer != null && customer.getState() == Customer.CustomerState.READY_TO_LEAVE && area.contains(touchX, touchY)) {
-                                Log.d(TAG, "Tap hit DONE/Clear Table indicator for " + customer.getDisplayId());
-
-                                dinerState.clearTableForCustomer(customer);
-                                handledDownEvent = true;
-                                break;
+                    if (!handledDownEvent) {
+                        customerId = tapAreas.find(TapTargets.CLEAR_TABLE, touchX, touchY);
+                        if (customerId != TapTargets.NO_TARGET) {
+                            if (DinerLog.isDebugEnabled()) {
+                                Log.d(TAG, "Tap hit DONE/Clear Table indicator for " + customerId);
                             }
+                            dinerState.postClearTable(customerId);
+                            handledDownEvent = true;
                         }
                     }
+                }
 
+                // Anywhere else on the floor starts a pan, and keeps the gesture coming for pinch-zoom
+                RectF floor = floorRect;
+                if (!handledDownEvent && cameraMovable && floor != null && floor.contains(touchX, touchY)) {
+                    panning = true;
+                    lastPanX = touchX;
+                    lastPanY = touchY;
+                    handledDownEvent = true;
                 }
 
                 return handledDownEvent;
 
             // Update drag position
             case MotionEvent.ACTION_MOVE:
+                if (panning) {
+                    synchronized (camera) {
+                        camera.panBy(touchX - lastPanX, touchY - lastPanY);
+                    }
+                    lastPanX = touchX;
+                    lastPanY = touchY;
+                    return true;
+                }
                 if (isDragging) {
                     dragX = touchX;
                     dragY = touchY;
@@ -1125,55 +1559,46 @@ public class DinerView extends SurfaceView implements SurfaceHolder.Callback {
 
             // End the drag
             case MotionEvent.ACTION_UP:
-                Log.d(TAG, "ACTION_UP at (" + touchX + ", " + touchY + ")");
+                if (DinerLog.isDebugEnabled()) {
+                    Log.d(TAG, "ACTION_UP at (" + touchX + ", " + touchY + ")");
+                }
+                if (panning) {
+                    panning = false;
+                    return true;
+                }
                 if (isDragging) {
 
+                    int dropTable;
+                    synchronized (tapAreaLock) {
+                        dropTable = touchTapAreas.find(TapTargets.TABLE, touchX, touchY);
+                    }
+
                     //  If dragging a CUSTOMER
-                    if (draggedCustomer != null) {
-                        Log.d(TAG, "Dropped customer " + draggedCustomer.getDisplayId());
-                        boolean seated = false;
-                        List<Table> tables = dinerState.getTables();
-                        for (Table table : tables) {
-                            if (!table.isOccupied() && table.getPositionRect().contains(touchX, touchY)) {
-                                Log.d(TAG, "Attempting to seat customer " + draggedCustomer.getDisplayId() + " at table " + table.id);
-                                seated = dinerState.trySeatCustomerByDrag(draggedCustomer, table);
-                                break;
+                    if (draggedCustomerId != RenderSnapshot.NO_CUSTOMER) {
+                        if (dropTable >= 0) {
+                            if (DinerLog.isDebugEnabled()) {
+                                Log.d(TAG, "Attempting to seat customer " + draggedCustomerId + " at table " + dropTable);
                             }
-                        }
-                        if (!seated) {
-                            Log.d(TAG, "Customer drop missed valid empty table.");
+                            dinerState.postSeatCustomer(draggedCustomerId, dropTable);
+                        } else {
+                            Log.d(TAG, "Customer drop missed all tables.");
                         }
                     }
                     // If dragging FOOD
-                    else if (draggedFoodCustomer != null) {
-                        Log.d(TAG, "Dropped FOOD for " + draggedFoodCustomer.getDisplayId());
-                        boolean delivered = false;
-                        List<Table> tables = dinerState.getTables();
-                        for (Table table : tables) {
-                            if (table.isOccupied() && table.getPositionRect().contains(touchX, touchY)) {
-                                Customer customerAtTable = table.getSeatedCustomer();
-
-                                if (customerAtTable == draggedFoodCustomer && draggedFoodCustomer.getState() == Customer.CustomerState.FOOD_READY) {
-                                    Log.d(TAG, "Attempting to deliver food to customer " + draggedFoodCustomer.getDisplayId() + " at table " + table.id);
-
-                                    delivered = dinerState.deliverFood(draggedFoodCustomer, table);
-                                    break;
-                                } else {
-
-                                    Log.d(TAG, "Food drop hit occupied table " + table.id + " but customer mismatch ("
-                                            + (customerAtTable != null ? customerAtTable.getDisplayId() : "NONE") + " != " + draggedFoodCustomer.getDisplayId()
-                                            + ") or wrong state (" + (customerAtTable != null ? customerAtTable.getState() : "N/A") + ")");
-                                }
+                    else if (draggedFoodCustomerId != RenderSnapshot.NO_CUSTOMER) {
+                        if (dropTable >= 0) {
+                            if (DinerLog.isDebugEnabled()) {
+                                Log.d(TAG, "Attempting to deliver food to customer " + draggedFoodCustomerId + " at table " + dropTable);
                             }
-                        }
-                        if (!delivered) {
-                            Log.d(TAG, "Food drop missed valid target table/customer.");
+                            dinerState.postDeliverFood(draggedFoodCustomerId, dropTable);
+                        } else {
+                            Log.d(TAG, "Food drop missed all tables.");
                         }
                     }
 
                     isDragging = false;
-                    draggedCustomer = null;
-                    draggedFoodCustomer = null;
+                    draggedCustomerId = RenderSnapshot.NO_CUSTOMER;
+                    draggedFoodCustomerId = RenderSnapshot.NO_CUSTOMER;
                     Log.d(TAG, "Drag ended.");
                     return true;
 
@@ -1,13 +1,32 @@
 package com.example.osdiner;
 
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.WindowManager;
+import android.widget.Toast;
 
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.osdiner.core.DinerLayout;
+import com.example.osdiner.core.DinerLog;
+import com.example.osdiner.core.FramePacer;
+
 public class GameActivity extends AppCompatActivity {
+    // Boolean extra: repaint only changed screen regions (saves power on mostly static screens)
+    public static final String EXTRA_DIRTY_RECT_RENDERING = "com.example.osdiner.DIRTY_RECT_RENDERING";
+    // Int extra: frames per second to render; 0 (the default) renders on every display vsync
+    public static final String EXTRA_TARGET_FPS = "com.example.osdiner.TARGET_FPS";
+    // Boolean extra: cap rendering at 30 fps to save power
+    public static final String EXTRA_LOW_POWER_RENDERING = "com.example.osdiner.LOW_POWER_RENDERING";
+    // Int extras: number of tables, tables per row (0 picks a grid to fit) and waiting area capacity (0 is unlimited)
+    public static final String EXTRA_TABLE_COUNT = "com.example.osdiner.TABLE_COUNT";
+    public static final String EXTRA_TABLE_COLUMNS = "com.example.osdiner.TABLE_COLUMNS";
+    public static final String EXTRA_WAITING_CAPACITY = "com.example.osdiner.WAITING_CAPACITY";
+    // Long extra: seed for the session's random streams, to replay a game; a fresh seed is picked without it
+    public static final String EXTRA_SESSION_SEED = "com.example.osdiner.SESSION_SEED";
+
     private DinerView dinerView;
 
     @Override
@@ -18,11 +37,22 @@ public class GameActivity extends AppCompatActivity {
                 WindowManager.LayoutParams.FLAG_FULLSCREEN);
         getWindow().addFlags(WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON);
 
-        // Reset customer ID for new game
-        Customer.resetCustomerIdCounter();
+        // Route simulation-core logging to logcat; release builds keep warnings and errors only
+        DinerLog.setSink(new AndroidLogSink());
+        DinerLog.setMinPriority(isDebuggable() ? DinerLog.DEBUG : DinerLog.WARN);
 
         // Create an instance of DinerView
         dinerView = new DinerView(this, null);
+        dinerView.setDirtyRectRendering(getIntent().getBooleanExtra(EXTRA_DIRTY_RECT_RENDERING, false));
+        dinerView.setTargetFrameRate(getIntent().getIntExtra(EXTRA_TARGET_FPS, FramePacer.MATCH_DISPLAY));
+        dinerView.setLowPowerRendering(getIntent().getBooleanExtra(EXTRA_LOW_POWER_RENDERING, false));
+        dinerView.setDinerLayout(new DinerLayout(
+                getIntent().getIntExtra(EXTRA_TABLE_COUNT, DinerLayout.DEFAULT_TABLE_COUNT),
+                getIntent().getIntExtra(EXTRA_TABLE_COLUMNS, DinerLayout.AUTO_COLUMNS),
+                getIntent().getIntExtra(EXTRA_WAITING_CAPACITY, 0)));
+        if (getIntent().hasExtra(EXTRA_SESSION_SEED)) {
+            dinerView.setSessionSeed(getIntent().getLongExtra(EXTRA_SESSION_SEED, 0L));
+        }
 
         setContentView(dinerView);
         Log.d("GameActivity", "onCreate: DinerView set as content view.");
@@ -35,7 +65,7 @@ public class GameActivity extends AppCompatActivity {
                 return;
             }
 
-            new AlertDialog.Builder(GameActivity.this)
+            AlertDialog.Builder builder = new AlertDialog.Builder(GameActivity.this)
                     .setTitle("Paused")
                     .setCancelable(false)
                     .setPositiveButton("Resume", (dialog, which) -> {
@@ -43,12 +73,26 @@ public class GameActivity extends AppCompatActivity {
                             dinerView.resumeGame();
                         }
                     })
-                    .setNegativeButton("Quit to Menu", (dialog, which) -> stopGameAndFinish())
-                    .show();
+                    .setNegativeButton("Quit to Menu", (dialog, which) -> stopGameAndFinish());
+            if (isDebuggable()) {
+                builder.setNeutralButton("Save Trace", (dialog, which) -> {
+                    boolean saved = dinerView != null && dinerView.dumpTrace() != null;
+                    saved &= dinerView != null && dinerView.dumpFrameStats() != null;
+                    Toast.makeText(this, saved ? "Trace saved" : "Trace not saved", Toast.LENGTH_SHORT).show();
+                    if (dinerView != null) {
+                        dinerView.resumeGame();
+                    }
+                });
+            }
+            builder.show();
             Log.d("GameActivity", "In-Game menu dialog shown.");
         });
     }
 
+    private boolean isDebuggable() {
+        return (getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+    }
+
     public void stopGameAndFinish() {
         Log.d("GameActivity", "Stopping game and finishing activity...");
         if (dinerView != null) {
@@ -3,33 +3,45 @@ package com.example.osdiner;
 
 import android.content.Context;
 import android.content.SharedPreferences;
-import android.graphics.Canvas;
+import android.os.Debug;
 import android.util.Log;
-import android.view.SurfaceHolder;
+
+import com.example.osdiner.core.DinerLog;
+import com.example.osdiner.core.DinerState;
+import com.example.osdiner.core.FixedStepClock;
+import com.example.osdiner.core.FrameStats;
+import com.example.osdiner.core.RenderSnapshot;
+import com.example.osdiner.core.RenderSnapshotBuffer;
+
+// Runs the simulation ticks and publishes a RenderSnapshot after each batch; drawing is done by RenderThread
 @SuppressWarnings("BusyWait")
 public class GameThread extends Thread {
     private static final String TAG = "GameThread";
 
-    private final SurfaceHolder surfaceHolder;
+    private final RenderSnapshotBuffer snapshots;
     private final DinerView dinerView;
     private final DinerState dinerState;
     private final Context context;
     private volatile boolean running;
     private long lastUpdateTimeNs;
 
-    private boolean isGameOverNotifiedOrSaved = false;
-    private long intervalStartTimeMs;
-    private static final long ARRIVAL_PROCESS_INTERVAL_MS = 3000;
+    private volatile boolean isGameOverNotifiedOrSaved = false;
 
-    private static final long TARGET_FPS = 60;
-    private static final long OPTIMAL_TIME_NS = 1_000_000_000 / TARGET_FPS;
+    private static final int SIMULATION_HZ = 60;
+    private static final int MAX_TICKS_PER_FRAME = 5;
+    private final FixedStepClock simulationClock = new FixedStepClock(SIMULATION_HZ, MAX_TICKS_PER_FRAME);
 
     private volatile boolean paused = false;
+    // Paused or game-over threads wait here instead of polling; notified whenever either may have ended
+    private final Object pauseLock = new Object();
+
+    // Per-phase timings of this loop; read from other threads for reporting
+    private final FrameStats frameStats = new FrameStats("GameThread");
 
-    public GameThread(Context context, SurfaceHolder surfaceHolder, DinerView dinerView, DinerState dinerState) {
+    public GameThread(Context context, DinerView dinerView, DinerState dinerState, RenderSnapshotBuffer snapshots) {
         super("GameThread");
         this.context = context.getApplicationContext();
-        this.surfaceHolder = surfaceHolder;
+        this.snapshots = snapshots;
         this.dinerView = dinerView;
         this.dinerState = dinerState;
     }
@@ -37,14 +49,11 @@ public class GameThread extends Thread {
         this.running = isRunning;
         if (isRunning) {
             lastUpdateTimeNs = System.nanoTime();
-            intervalStartTimeMs = System.currentTimeMillis();
+            simulationClock.reset();
             isGameOverNotifiedOrSaved = false;
         }
-        if (!isRunning) {
-            resumeGame(); // Ensure not left in paused state when stopped
-        } else {
-            paused = false; // Ensure starts not paused
-        }
+        // Never left paused: a stopped thread must exit, a started one must run
+        resumeGame();
     }
 
     public void pauseGame() {
@@ -52,28 +61,31 @@ public class GameThread extends Thread {
     }
 
     public void resumeGame() {
-        paused = false;
-
+        synchronized (pauseLock) {
+            paused = false;
+            pauseLock.notifyAll(); // Wake up thread if it was waiting
+        }
     }
     public boolean isPaused() {
         return paused;
     }
 
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+
     @Override
     public void run() {
         Log.d(TAG, "GameThread run() started.");
-        Canvas canvas;
         lastUpdateTimeNs = System.nanoTime();
 
         while (running) {
 
-            if (paused) {
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException e) {
-                    Log.w(TAG, "Pause sleep interrupted", e);
-
-                }
+            // Nothing to simulate while paused or after game over; the last snapshot stays on screen
+            if (paused || isGameOverNotifiedOrSaved) {
+                awaitResumeOrStop();
+                // Don't count paused time as simulation time
+                lastUpdateTimeNs = System.nanoTime();
                 continue;
             }
 
@@ -82,21 +94,26 @@ public class GameThread extends Thread {
             long nowNs = System.nanoTime();
             long elapsedTimeNs = nowNs - lastUpdateTimeNs;
             lastUpdateTimeNs = nowNs;
-
-            // Clamp deltaTime
             if (elapsedTimeNs <= 0) elapsedTimeNs = 1;
-            if (elapsedTimeNs > OPTIMAL_TIME_NS * 5) {
-                elapsedTimeNs = OPTIMAL_TIME_NS * 2;
-            }
-            double deltaTime = elapsedTimeNs / 1_000_000_000.0;
 
+            // Run however many fixed ticks are due; each one is the only authoritative update, arrivals included
             int angryLeavers = 0;
+            int ticksDue = simulationClock.advance(elapsedTimeNs);
+            double tickSeconds = simulationClock.getStepSeconds();
 
+            long phaseStartNs = System.nanoTime();
+            long phaseStartCpuNs = Debug.threadCpuTimeNanos();
             try {
                 if (this.dinerState != null) {
-                    angryLeavers = this.dinerState.update(deltaTime);
+                    for (int tick = 0; tick < ticksDue; tick++) {
+                        angryLeavers += this.dinerState.update(tickSeconds);
+                    }
                 }
             } catch (Exception e) { Log.e(TAG, "Exception during DinerState.update()", e); }
+            if (ticksDue > 0) {
+                recordPhase(FrameStats.SIMULATION_UPDATE, phaseStartNs, phaseStartCpuNs);
+            }
+
             try {
                 // Check state only if dinerState and context are valid
                 if (this.dinerState != null && this.context != null) {
@@ -132,7 +149,9 @@ public class GameThread extends Thread {
             // Trigger Angry Leave Effects
             try {
                 if (angryLeavers > 0 && this.dinerView != null) {
-                    Log.d(TAG, ">>> Angry leavers detected: " + angryLeavers + ", attempting to trigger effects via post <<<");
+                    if (DinerLog.isDebugEnabled()) {
+                        DinerLog.d(TAG, ">>> Angry leavers detected: " + angryLeavers + ", attempting to trigger effects via post <<<");
+                    }
 
                     final int finalAngryLeavers = angryLeavers;
 
@@ -141,59 +160,47 @@ public class GameThread extends Thread {
                 }
             } catch (Exception e) { Log.e(TAG, "Exception posting triggerAngryLeaveEffects", e); }
 
-            // Update View-Specific Logic
-            try {
-                if (this.dinerView != null) {
-                    this.dinerView.update(deltaTime);
-                }
-            } catch (Exception e) { Log.e(TAG, "Exception during DinerView.update()", e); }
-
-
-            // Check Interval Timer for Customer Arrivals
-            long nowMs = System.currentTimeMillis();
-            if (nowMs - intervalStartTimeMs >= ARRIVAL_PROCESS_INTERVAL_MS) {
-
-                if (this.dinerView != null) {
-                    dinerView.triggerProcessArrivals();
-                }
-                intervalStartTimeMs = nowMs;
+            // Hand the renderer a copy of the state as of the last tick
+            if (this.dinerState != null) {
+                phaseStartNs = System.nanoTime();
+                phaseStartCpuNs = Debug.threadCpuTimeNanos();
+                RenderSnapshot snapshot = snapshots.getWriteBuffer();
+                snapshot.capture(this.dinerState);
+                snapshot.setTiming(System.nanoTime(), simulationClock.getAccumulatedNs(), simulationClock.getStepNs());
+                snapshots.publish();
+                recordPhase(FrameStats.SNAPSHOT_PUBLISH, phaseStartNs, phaseStartCpuNs);
             }
 
 
-            // Render Game State
-            canvas = null;
-            try {
-                canvas = this.surfaceHolder.lockCanvas();
-                if (canvas != null) {
-                    synchronized (surfaceHolder) {
-                        if (this.dinerView != null) {
-                            dinerView.drawGame(canvas);
-                        }
-                    }
-                }
-            } catch (Exception e) { Log.e(TAG, "Exception during lockCanvas/drawGame", e); }
-            finally {
-                if (canvas != null) {
-                    try { this.surfaceHolder.unlockCanvasAndPost(canvas); }
-                    catch (Exception e) { Log.e(TAG, "Exception during unlockCanvasAndPost", e); }
-                }
-            }
-
-            // Frame Rate Control
-            long loopTimeNs = System.nanoTime() - nowNs;
-            long sleepTimeNs = OPTIMAL_TIME_NS - loopTimeNs;
+            // Sleep until the next tick is due
+            long sleepTimeNs = simulationClock.getStepNs() - simulationClock.getAccumulatedNs() - (System.nanoTime() - nowNs);
             if (sleepTimeNs > 0) {
+                long sleepStartNs = System.nanoTime();
                 try { Thread.sleep(sleepTimeNs / 1_000_000, (int) (sleepTimeNs % 1_000_000)); }
                 catch (InterruptedException e) { Log.w(TAG, "GameThread sleep interrupted", e); running = false; }
+                frameStats.record(FrameStats.OVERSLEEP, System.nanoTime() - sleepStartNs - sleepTimeNs, -1);
             }
 
+        }
+        Log.d(TAG, "GameThread run() finished.");
+    }
 
-            if (isGameOverNotifiedOrSaved && running) {
-                try { Thread.sleep(50); }
-                catch (InterruptedException e) { running = false; }
+    private void awaitResumeOrStop() {
+        synchronized (pauseLock) {
+            while (running && (paused || isGameOverNotifiedOrSaved)) {
+                Log.d(TAG, "Simulation idle, waiting...");
+                try {
+                    pauseLock.wait();
+                } catch (InterruptedException e) {
+                    Log.w(TAG, "Pause wait interrupted", e);
+                    running = false;
+                }
             }
-
         }
-        Log.d(TAG, "GameThread run() finished.");
+    }
+
+    private void recordPhase(int phase, long startNs, long startCpuNs) {
+        long cpuNs = startCpuNs >= 0 ? Debug.threadCpuTimeNanos() - startCpuNs : -1;
+        frameStats.record(phase, System.nanoTime() - startNs, cpuNs);
     }
 }
\ No newline at end of file
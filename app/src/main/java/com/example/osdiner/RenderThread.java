@@ -0,0 +1,184 @@
+package com.example.osdiner;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Debug;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.SurfaceHolder;
+
+import com.example.osdiner.core.FramePacer;
+import com.example.osdiner.core.FrameStats;
+import com.example.osdiner.core.RenderSnapshot;
+import com.example.osdiner.core.RenderSnapshotBuffer;
+
+/**
+ * Draws the newest RenderSnapshot published by GameThread; never touches DinerState.
+ *
+ * Frames are driven by Choreographer vsync callbacks on this thread's own
+ * Looper, and FramePacer picks which vsyncs are drawn, so the frame rate
+ * follows the display (60/90/120 Hz) or an even fraction of it. While paused
+ * no callback is requested and the thread stays asleep in its Looper.
+ */
+public class RenderThread extends Thread implements Choreographer.FrameCallback {
+    private static final String TAG = "RenderThread";
+
+    private final SurfaceHolder surfaceHolder;
+    private final DinerView dinerView;
+    private final RenderSnapshotBuffer snapshots;
+    private final FramePacer framePacer;
+    private volatile boolean running;
+    private volatile boolean paused = false;
+    private volatile Looper looper;
+    private volatile Handler handler;
+    private Choreographer choreographer;
+    private long lastFrameTimeNs = -1;
+    private final Rect dirtyRect = new Rect();
+
+    // Per-phase timings of this loop; read from other threads for reporting
+    private final FrameStats frameStats = new FrameStats("RenderThread");
+
+    private final Runnable resumeFrames = this::restartFrames;
+
+    public RenderThread(SurfaceHolder surfaceHolder, DinerView dinerView, RenderSnapshotBuffer snapshots, FramePacer framePacer) {
+        super("RenderThread");
+        this.surfaceHolder = surfaceHolder;
+        this.dinerView = dinerView;
+        this.snapshots = snapshots;
+        this.framePacer = framePacer;
+    }
+
+    public void setRunning(boolean isRunning) {
+        this.running = isRunning;
+        paused = false;
+        if (!isRunning) {
+            Looper l = looper;
+            if (l != null) {
+                l.quitSafely();
+            }
+        }
+    }
+
+    public void pauseRendering() {
+        // The last frame stays on screen; doFrame stops requesting callbacks
+        paused = true;
+    }
+
+    public void resumeRendering() {
+        paused = false;
+        Handler h = handler;
+        if (h != null) {
+            h.post(resumeFrames);
+        }
+    }
+
+    // Render thread. Restarts vsync callbacks after a pause; the gap is not counted as missed vsyncs.
+    private void restartFrames() {
+        framePacer.reset();
+        lastFrameTimeNs = -1;
+        choreographer.removeFrameCallback(this);
+        if (running && !paused) {
+            choreographer.postFrameCallback(this);
+        }
+    }
+
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+
+    @Override
+    public void run() {
+        Log.d(TAG, "RenderThread run() started.");
+        Looper.prepare();
+        looper = Looper.myLooper();
+        handler = new Handler(looper);
+        choreographer = Choreographer.getInstance();
+
+        // setRunning(false) may have come before the Looper existed
+        if (running) {
+            choreographer.postFrameCallback(this);
+            Looper.loop();
+        }
+        choreographer.removeFrameCallback(this);
+        Log.d(TAG, "RenderThread run() finished.");
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running || paused) {
+            return;
+        }
+        // Ask for the next vsync first, so a slow frame cannot make us miss it
+        choreographer.postFrameCallback(this);
+        if (!framePacer.onVsync(frameTimeNanos)) {
+            return;
+        }
+        double frameDeltaTime = lastFrameTimeNs < 0 ? 0.0 : (frameTimeNanos - lastFrameTimeNs) / 1_000_000_000.0;
+        lastFrameTimeNs = frameTimeNanos;
+
+        RenderSnapshot snapshot = snapshots.acquireLatest();
+        if (snapshot != null) {
+            renderFrame(snapshot, frameDeltaTime, frameTimeNanos);
+        }
+    }
+
+    private void renderFrame(RenderSnapshot snapshot, double frameDeltaTime, long frameTimeNanos) {
+        long phaseStartNs = System.nanoTime();
+        long phaseStartCpuNs = Debug.threadCpuTimeNanos();
+        try {
+            dinerView.update(frameDeltaTime, snapshot);
+        } catch (Exception e) { Log.e(TAG, "Exception during DinerView.update()", e); }
+        recordPhase(FrameStats.VIEW_UPDATE, phaseStartNs, phaseStartCpuNs);
+
+        // Interpolate to the vsync this frame belongs to
+        float alpha = snapshot.getAlpha(frameTimeNanos);
+        int frame = DinerView.FRAME_FULL;
+        if (dinerView.isDirtyRectRendering()) {
+            frame = dinerView.prepareDirtyRegion(snapshot, alpha,
+                    dinerView.getWidth(), dinerView.getHeight(), dirtyRect);
+        }
+
+        Canvas canvas = null;
+        try {
+            phaseStartNs = System.nanoTime();
+            phaseStartCpuNs = Debug.threadCpuTimeNanos();
+            if (frame == DinerView.FRAME_PARTIAL) {
+                // The surface may grow the rect; the canvas comes back clipped to it
+                canvas = surfaceHolder.lockCanvas(dirtyRect);
+                recordPhase(FrameStats.LOCK_CANVAS, phaseStartNs, phaseStartCpuNs);
+            } else if (frame == DinerView.FRAME_FULL) {
+                canvas = surfaceHolder.lockCanvas();
+                recordPhase(FrameStats.LOCK_CANVAS, phaseStartNs, phaseStartCpuNs);
+            }
+            // FRAME_UNCHANGED: what is on screen is already current
+            if (canvas != null) {
+                phaseStartNs = System.nanoTime();
+                phaseStartCpuNs = Debug.threadCpuTimeNanos();
+                dinerView.drawGame(canvas, snapshot, alpha);
+                recordPhase(FrameStats.DRAW, phaseStartNs, phaseStartCpuNs);
+            } else if (frame != DinerView.FRAME_UNCHANGED) {
+                // Nothing was drawn, so the tracked regions no longer match the screen
+                dinerView.invalidateDirtyRegion();
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Exception during lockCanvas/drawGame", e);
+            dinerView.invalidateDirtyRegion();
+        }
+        finally {
+            if (canvas != null) {
+                phaseStartNs = System.nanoTime();
+                phaseStartCpuNs = Debug.threadCpuTimeNanos();
+                try { surfaceHolder.unlockCanvasAndPost(canvas); }
+                catch (Exception e) { Log.e(TAG, "Exception during unlockCanvasAndPost", e); }
+                recordPhase(FrameStats.UNLOCK_AND_POST, phaseStartNs, phaseStartCpuNs);
+            }
+        }
+    }
+
+    private void recordPhase(int phase, long startNs, long startCpuNs) {
+        long cpuNs = startCpuNs >= 0 ? Debug.threadCpuTimeNanos() - startCpuNs : -1;
+        frameStats.record(phase, System.nanoTime() - startNs, cpuNs);
+    }
+}
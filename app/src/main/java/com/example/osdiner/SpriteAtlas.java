@@ -0,0 +1,161 @@
+package com.example.osdiner;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.util.Log;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.Nullable;
+
+import com.example.osdiner.core.Customer;
+
+/**
+ * Customer and heart sprites decoded once at the size they are drawn at and
+ * packed side by side into a single bitmap. Drawing a sprite is then an
+ * unscaled copy of its source rect, so per-frame draws never resample.
+ *
+ * Built on the UI thread before rendering starts; afterwards only drawn from
+ * and finally recycled once RenderThread has stopped.
+ */
+public class SpriteAtlas {
+    private static final String TAG = "SpriteAtlas";
+    private static final int PADDING = 2; // Keeps neighbouring sprites from bleeding into each other
+
+    private final Bitmap atlas;
+    private final Rect[] customerRects; // By CustomerType ordinal; null if that sprite failed to load
+    @Nullable private final Rect heartRect;
+    private final Rect dst = new Rect(); // Reused by the draw calls; render thread only
+
+    private SpriteAtlas(Bitmap atlas, Rect[] customerRects, @Nullable Rect heartRect) {
+        this.atlas = atlas;
+        this.customerRects = customerRects;
+        this.heartRect = heartRect;
+    }
+
+    public static SpriteAtlas build(Resources res, int iconWidth, int iconHeight, int heartSize) {
+        Customer.CustomerType[] types = Customer.CustomerType.values();
+        Bitmap[] sprites = new Bitmap[types.length + 1];
+        for (Customer.CustomerType type : types) {
+            sprites[type.ordinal()] = decodeScaled(res, getIconResId(type), iconWidth, iconHeight);
+        }
+        int heartIndex = types.length;
+        sprites[heartIndex] = decodeScaled(res, R.drawable.heart_full, heartSize, heartSize);
+
+        int width = 0;
+        int height = 0;
+        for (Bitmap sprite : sprites) {
+            if (sprite != null) {
+                width += sprite.getWidth() + PADDING;
+                height = Math.max(height, sprite.getHeight());
+            }
+        }
+
+        Rect[] rects = new Rect[sprites.length];
+        Bitmap atlas = null;
+        if (width > 0) {
+            atlas = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(atlas);
+            int x = 0;
+            for (int i = 0; i < sprites.length; i++) {
+                Bitmap sprite = sprites[i];
+                if (sprite == null) {
+                    continue;
+                }
+                canvas.drawBitmap(sprite, x, 0, null);
+                rects[i] = new Rect(x, 0, x + sprite.getWidth(), sprite.getHeight());
+                x += sprite.getWidth() + PADDING;
+                sprite.recycle();
+            }
+            Log.d(TAG, "Built " + width + "x" + height + " sprite atlas");
+        }
+
+        Rect[] customerRects = new Rect[types.length];
+        System.arraycopy(rects, 0, customerRects, 0, types.length);
+        return new SpriteAtlas(atlas, customerRects, rects[heartIndex]);
+    }
+
+    // Decodes a drawable subsampled close to the target size, then scales it to exactly that size once
+    @Nullable
+    private static Bitmap decodeScaled(Resources res, @DrawableRes int resId, int width, int height) {
+        try {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inScaled = false;
+            options.inJustDecodeBounds = true;
+            BitmapFactory.decodeResource(res, resId, options);
+
+            int sampleSize = 1;
+            while (options.outWidth / (sampleSize * 2) >= width && options.outHeight / (sampleSize * 2) >= height) {
+                sampleSize *= 2;
+            }
+            options.inJustDecodeBounds = false;
+            options.inSampleSize = sampleSize;
+            Bitmap decoded = BitmapFactory.decodeResource(res, resId, options);
+            if (decoded == null) {
+                Log.e(TAG, "Failed to decode sprite (ResID: " + resId + ")");
+                return null;
+            }
+            if (decoded.getWidth() == width && decoded.getHeight() == height) {
+                return decoded;
+            }
+            Bitmap scaled = Bitmap.createScaledBitmap(decoded, width, height, true);
+            if (scaled != decoded) {
+                decoded.recycle();
+            }
+            return scaled;
+        } catch (Resources.NotFoundException e) {
+            Log.e(TAG, "Sprite resource not found (ResID: " + resId + ")", e);
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading sprite (ResID: " + resId + ")", e);
+        }
+        return null;
+    }
+
+    @DrawableRes
+    private static int getIconResId(Customer.CustomerType type) {
+        switch (type) {
+            case IMPATIENT:
+                return R.drawable.customer_impatient;
+            case VIP:
+                return R.drawable.customer_vip;
+            case NORMAL:
+            default:
+                return R.drawable.customer_normal;
+        }
+    }
+
+    public boolean hasCustomer(Customer.CustomerType type) {
+        return customerRects[type.ordinal()] != null;
+    }
+
+    public boolean hasHeart() {
+        return heartRect != null;
+    }
+
+    public void drawCustomer(Canvas canvas, Customer.CustomerType type, float left, float top, Paint paint) {
+        draw(canvas, customerRects[type.ordinal()], left, top, paint);
+    }
+
+    public void drawHeart(Canvas canvas, float left, float top, Paint paint) {
+        draw(canvas, heartRect, left, top, paint);
+    }
+
+    // Snaps to whole pixels so the copy stays 1:1 and needs no filtering
+    private void draw(Canvas canvas, @Nullable Rect src, float left, float top, Paint paint) {
+        if (src == null) {
+            return;
+        }
+        int x = Math.round(left);
+        int y = Math.round(top);
+        dst.set(x, y, x + src.width(), y + src.height());
+        canvas.drawBitmap(atlas, src, dst, paint);
+    }
+
+    public void recycle() {
+        if (atlas != null && !atlas.isRecycled()) {
+            atlas.recycle();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.osdiner.benchmarks;
+
+import com.example.osdiner.core.Customer;
+import com.example.osdiner.core.CustomerPool;
+import com.example.osdiner.core.DinerState;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Customer creation (plain and pooled) and the arrival queue drain each tick runs, which admits
+ * the arrivals into the diner's customer store.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CustomerBenchmark {
+
+    @State(Scope.Thread)
+    public static class Arrivals {
+        // The arrival queue holds at most 10 customers
+        @Param({"1", "5", "10"})
+        public int arrivals;
+
+        DinerState state;
+        Customer[] arriving;
+
+        // A new diner and new customers for every call: admitted customers hold a store slot
+        // until they leave, so reusing them would skip the slot allocation being measured
+        @Setup(Level.Invocation)
+        public void setUp() {
+            state = DinerFixtures.emptyDiner(3);
+            arriving = new Customer[arrivals];
+            for (int i = 0; i < arrivals; i++) {
+                arriving[i] = new Customer();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Pool {
+        final CustomerPool pool = new CustomerPool(16);
+    }
+
+    @Benchmark
+    public Customer newCustomer() {
+        return new Customer();
+    }
+
+    // Steady-state arrival through the pool: every departure is recycled
+    @Benchmark
+    public Customer pooledCustomer(Pool fixture) {
+        Customer customer = fixture.pool.obtain(Customer.CustomerType.NORMAL);
+        fixture.pool.release(customer);
+        return customer;
+    }
+
+    @Benchmark
+    public int processCustomerArrivals(Arrivals fixture) {
+        BlockingQueue<Customer> queue = fixture.state.getCustomerArrivalQueue();
+        for (Customer customer : fixture.arriving) {
+            queue.offer(customer);
+        }
+        fixture.state.processCustomerArrivals();
+        return fixture.state.getWaitingCustomers().size();
+    }
+}
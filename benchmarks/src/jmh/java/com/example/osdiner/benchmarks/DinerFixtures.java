@@ -0,0 +1,54 @@
+package com.example.osdiner.benchmarks;
+
+import com.example.osdiner.core.Bounds;
+import com.example.osdiner.core.Customer;
+import com.example.osdiner.core.DinerState;
+import com.example.osdiner.core.Table;
+
+import java.util.SplittableRandom;
+
+// Builds headless diners of a given size for the benchmarks
+final class DinerFixtures {
+
+    static final float TABLE_SIZE = 100f;
+    static final float TABLE_SPACING = 40f;
+    static final int TABLES_PER_ROW = 20;
+    // Customer types are drawn from a fixed seed, so every run benchmarks the same mix
+    private static final long CUSTOMER_SEED = 42;
+
+    private DinerFixtures() {
+    }
+
+    static Bounds[] tableGrid(int tableCount) {
+        Bounds[] rects = new Bounds[tableCount];
+        for (int i = 0; i < tableCount; i++) {
+            float left = (i % TABLES_PER_ROW) * (TABLE_SIZE + TABLE_SPACING);
+            float top = (i / TABLES_PER_ROW) * (TABLE_SIZE + TABLE_SPACING);
+            rects[i] = new Bounds(left, top, left + TABLE_SIZE, top + TABLE_SIZE);
+        }
+        return rects;
+    }
+
+    // No arrivals: a benchmark's diner holds only the customers it was given
+    static DinerState emptyDiner(int tableCount) {
+        DinerState state = new DinerState();
+        state.setArrivalsEnabled(false);
+        state.initializeTables(tableGrid(tableCount));
+        return state;
+    }
+
+    // Every table occupied and waitingCount customers queued
+    static DinerState fullDiner(int tableCount, int waitingCount) {
+        DinerState state = emptyDiner(tableCount);
+        SplittableRandom types = new SplittableRandom(CUSTOMER_SEED);
+        for (Table table : state.getTables()) {
+            Customer customer = new Customer(Customer.randomType(types));
+            state.addWaitingCustomer(customer);
+            state.trySeatCustomerByDrag(customer, table);
+        }
+        for (int i = 0; i < waitingCount; i++) {
+            state.addWaitingCustomer(new Customer(Customer.randomType(types)));
+        }
+        return state;
+    }
+}
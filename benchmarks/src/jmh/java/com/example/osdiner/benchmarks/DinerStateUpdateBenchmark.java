@@ -0,0 +1,65 @@
+package com.example.osdiner.benchmarks;
+
+import com.example.osdiner.core.DinerState;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one 60 Hz simulation tick at different diner sizes.
+ * Seated IMPATIENT customers run out of patience after about 33 s of simulated
+ * time, so each iteration starts from a freshly filled diner and runs a fixed
+ * batch of ticks (SingleShotTime + batchSize) instead of measuring an
+ * open-ended steady state.
+ * With parallel set, every diner size runs partitioned on the common pool, so
+ * the small sizes show the fork-join overhead and the large ones any gain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, batchSize = DinerStateUpdateBenchmark.TICKS_PER_BATCH)
+@Measurement(iterations = 30, batchSize = DinerStateUpdateBenchmark.TICKS_PER_BATCH)
+@Fork(1)
+public class DinerStateUpdateBenchmark {
+
+    // 30 simulated seconds: long enough to cross order/cook/eat thresholds, short enough that nobody leaves angry
+    static final int TICKS_PER_BATCH = 1800;
+    private static final double TICK = 1.0 / 60.0;
+
+    @Param({"3", "30", "300", "500"})
+    public int tables;
+
+    @Param({"0", "10", "100"})
+    public int waiting;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private DinerState state;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        state = DinerFixtures.fullDiner(tables, waiting);
+        if (parallel) {
+            state.setParallelUpdate(ForkJoinPool.commonPool(), 1);
+        }
+    }
+
+    @Benchmark
+    public int update() {
+        return state.update(TICK);
+    }
+}
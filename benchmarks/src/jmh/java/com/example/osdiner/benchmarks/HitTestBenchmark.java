@@ -0,0 +1,122 @@
+package com.example.osdiner.benchmarks;
+
+import com.example.osdiner.core.Bounds;
+import com.example.osdiner.core.DinerState;
+import com.example.osdiner.core.Table;
+import com.example.osdiner.core.TapTargets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hit tests DinerView.onTouchEvent runs on ACTION_DOWN and ACTION_UP:
+ * TapTargets.find over the frame's tap rectangles, which should cost the
+ * same at any table count. DinerView itself needs a device, so this fills a
+ * TapTargets with the table bounds and one order button per table, as a
+ * frame would.
+ *
+ * The baseline* benchmarks are the linear scans over the same rectangles
+ * that onTouchEvent used before the grid, kept for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HitTestBenchmark {
+
+    private static final int TOUCH_POINTS = 1024;
+
+    @Param({"3", "30", "300"})
+    public int tables;
+
+    private DinerState state;
+    private final List<Bounds> tapAreas = new ArrayList<>();
+    private TapTargets targets;
+    private float[] touchX;
+    private float[] touchY;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        state = DinerFixtures.emptyDiner(tables);
+
+        // One indicator-sized tap area above every table, like the ORDER/DONE buttons
+        tapAreas.clear();
+        for (Table table : state.getTables()) {
+            Bounds rect = table.getPositionRect();
+            tapAreas.add(new Bounds(rect.left, rect.top - 30f, rect.right, rect.top - 5f));
+        }
+
+        Bounds last = state.getTables().get(tables - 1).getPositionRect();
+        targets = new TapTargets(tables * 2);
+        targets.clear((int) Math.ceil(last.right), (int) Math.ceil(last.bottom));
+        for (Table table : state.getTables()) {
+            Bounds rect = table.getPositionRect();
+            targets.add(TapTargets.TABLE, table.id, rect.left, rect.top, rect.right, rect.bottom);
+        }
+        for (int a = 0; a < tapAreas.size(); a++) {
+            Bounds area = tapAreas.get(a);
+            targets.add(TapTargets.CONFIRM_ORDER, a, area.left, area.top, area.right, area.bottom);
+        }
+
+        Random random = new Random(42);
+        touchX = new float[TOUCH_POINTS];
+        touchY = new float[TOUCH_POINTS];
+        for (int i = 0; i < TOUCH_POINTS; i++) {
+            touchX[i] = random.nextFloat() * last.right;
+            touchY[i] = random.nextFloat() * last.bottom;
+        }
+    }
+
+    @Benchmark
+    public int tableDrop() {
+        int i = next++ & (TOUCH_POINTS - 1);
+        return targets.find(TapTargets.TABLE, touchX[i], touchY[i]);
+    }
+
+    @Benchmark
+    public int orderTap() {
+        int i = next++ & (TOUCH_POINTS - 1);
+        return targets.find(TapTargets.CONFIRM_ORDER, touchX[i], touchY[i]);
+    }
+
+    // Baseline: the scan over every table
+    @Benchmark
+    public Table baselineTableScan() {
+        int i = next++ & (TOUCH_POINTS - 1);
+        for (Table table : state.getTables()) {
+            if (!table.isOccupied() && table.getPositionRect().contains(touchX[i], touchY[i])) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    // Baseline: the scan over every tap rectangle
+    @Benchmark
+    public int baselineTapAreaScan() {
+        int i = next++ & (TOUCH_POINTS - 1);
+        for (int a = 0; a < tapAreas.size(); a++) {
+            if (tapAreas.get(a).contains(touchX[i], touchY[i])) {
+                return a;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.osdiner.benchmarks;
+
+import com.example.osdiner.core.GameBalance;
+import com.example.osdiner.core.HeadlessGame;
+import com.example.osdiner.core.PlayerPolicies;
+import com.example.osdiner.core.PlayerPolicy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole headless games driven by a reference policy that acts without a
+ * reaction limit, i.e. the most the diner rules let a player serve. Each
+ * invocation plays one game from a fixed seed, capped at ten simulated
+ * minutes, so the score is the wall time one game costs the balance runner.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PolicyDriverBenchmark {
+
+    private static final double TIME_LIMIT_SECONDS = 10 * 60;
+
+    @Param({"3", "30", "300"})
+    public int tables;
+
+    @Param({"fifo", "greedy", "vipFirst"})
+    public String policy;
+
+    private HeadlessGame game;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        PlayerPolicy player = PlayerPolicies.byName(policy);
+        game = new HeadlessGame(GameBalance.DEFAULT, DinerFixtures.tableGrid(tables), player);
+        game.setReactionSeconds(0);
+        game.setTimeLimitSeconds(TIME_LIMIT_SECONDS);
+    }
+
+    @Benchmark
+    public int playGame() {
+        return game.play(seed++ & 0xFF).served;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.osdiner.benchmarks;
+
+import com.example.osdiner.core.Customer;
+import com.example.osdiner.core.DinerState;
+import com.example.osdiner.core.Table;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * trySeatCustomerByDrag with the dragged customer at the back of the waiting list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SeatingBenchmark {
+
+    @Param({"0", "10", "100"})
+    public int waiting;
+
+    private DinerState state;
+    private Customer dragged;
+    private Table target;
+
+    @Setup
+    public void setUp() {
+        state = DinerFixtures.fullDiner(0, waiting);
+        state.initializeTables(DinerFixtures.tableGrid(3));
+        target = state.getTables().get(2);
+        dragged = new Customer();
+    }
+
+    @Benchmark
+    public boolean trySeatCustomerByDrag() {
+        List<Customer> queue = state.getWaitingCustomers();
+        queue.add(dragged);
+        boolean seated = state.trySeatCustomerByDrag(dragged, target);
+        target.vacate();
+        return seated;
+    }
+}
@@ -0,0 +1,20 @@
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
+
+// Headless balance sweep, e.g.: ./gradlew :diner-core:balance --args="--games 100000 --sweep cook=6,8,10"
+tasks.register<JavaExec>("balance") {
+    group = "application"
+    description = "Plays headless games over a balance sweep and writes the outcomes as CSV."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.osdiner.core.BalanceRunner")
+}
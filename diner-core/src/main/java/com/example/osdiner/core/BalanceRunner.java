@@ -0,0 +1,362 @@
+package com.example.osdiner.core;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays many headless games for every point of a balance sweep and writes
+ * the outcomes as CSV: one row per game, and one row per sweep point with
+ * the score, level and survival time distributions.
+ *
+ * Games run in parallel, one per worker thread, with as many workers as
+ * there are cores unless told otherwise. Game i of every sweep point uses
+ * the same seed, so two points are compared on identical arrival sequences
+ * and a difference between them comes from the balance change, not luck.
+ * When a point has fewer games than workers and at least --parallel-tables
+ * tables, the spare cores go to the games' ticks instead, which are split
+ * into table partitions on a shared pool.
+ *
+ * Run with: ./gradlew :diner-core:balance --args="--games 100000 --sweep cook=6,8,10"
+ *
+ * Sweep keys (each --sweep takes a comma-separated list; points are every
+ * combination): cook, scorePerLevel, arrivalMin, arrivalMax, arrivalStep,
+ * arrivalReduction, arrivalFloor, patience.TYPE, score.TYPE, rate.TYPE,
+ * tables, reaction, player (idle, fifo, greedy or vipFirst).
+ */
+public final class BalanceRunner {
+
+    private static final String USAGE = "Usage: BalanceRunner [--games N] [--threads N] [--seed N] [--out PREFIX]"
+            + " [--tick-hz N] [--max-minutes N] [--parallel-tables N] [--sweep key=v1,v2,...]...";
+
+    private static final int SCREEN_WIDTH = 1920;
+    private static final int SCREEN_HEIGHT = 1080;
+
+    /** One combination of swept values, and the games it describes. */
+    static final class Point {
+        final Map<String, String> values;
+        final GameBalance balance;
+        final PlayerPolicy policy;
+        final double reactionSeconds;
+        final DinerLayout layout;
+
+        Point(Map<String, String> values) {
+            this.values = values;
+            GameBalance b = GameBalance.DEFAULT;
+            b = b.withCookDurationSeconds(floatValue("cook", b.getCookDurationSeconds()));
+            b = b.withScorePerLevel(intValue("scorePerLevel", b.getScorePerLevel()));
+            b = b.withArrivalDelays(intValue("arrivalMin", b.getArrivalMinDelayMs()),
+                    intValue("arrivalMax", b.getArrivalMaxDelayMs()));
+            b = b.withArrivalSpeedUp(intValue("arrivalStep", b.getArrivalScoreStep()),
+                    intValue("arrivalReduction", b.getArrivalStepReductionMs()),
+                    intValue("arrivalFloor", b.getArrivalFloorMs()));
+            for (Customer.CustomerType type : Customer.CustomerType.values()) {
+                Customer.CustomerConfig config = b.getCustomerConfig(type);
+                b = b.withCustomerConfig(type, new Customer.CustomerConfig(
+                        floatValue("patience." + type, config.getInitialPatience()),
+                        intValue("score." + type, config.getScoreValue()),
+                        floatValue("rate." + type, config.getPatienceRateMultiplier())));
+            }
+            balance = b;
+
+            String policyName = values.getOrDefault("player", "greedy");
+            policy = PlayerPolicies.byName(policyName);
+            if (policy == null) {
+                throw new IllegalArgumentException("Unknown player: " + policyName);
+            }
+            reactionSeconds = doubleValue("reaction", HeadlessGame.DEFAULT_REACTION_SECONDS);
+            layout = new DinerLayout(intValue("tables", DinerLayout.DEFAULT_TABLE_COUNT),
+                    DinerLayout.AUTO_COLUMNS, DinerState.UNLIMITED_WAITING);
+            layout.compute(SCREEN_WIDTH, SCREEN_HEIGHT);
+        }
+
+        private int intValue(String key, int fallback) {
+            String value = values.get(key);
+            return value != null ? Integer.parseInt(value) : fallback;
+        }
+
+        private float floatValue(String key, float fallback) {
+            String value = values.get(key);
+            return value != null ? Float.parseFloat(value) : fallback;
+        }
+
+        private double doubleValue(String key, double fallback) {
+            String value = values.get(key);
+            return value != null ? Double.parseDouble(value) : fallback;
+        }
+    }
+
+    private int games = 1000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = 1;
+    private String outPrefix = "balance";
+    private double tickSeconds = HeadlessGame.DEFAULT_TICK_SECONDS;
+    private double timeLimitSeconds = HeadlessGame.DEFAULT_TIME_LIMIT_SECONDS;
+    private int parallelMinTables = DinerState.DEFAULT_PARALLEL_MIN_TABLES;
+    private final Map<String, String[]> sweep = new LinkedHashMap<>();
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        BalanceRunner runner = new BalanceRunner();
+        List<Point> points = null;
+        try {
+            runner.parse(args);
+            points = runner.points();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        runner.run(points);
+    }
+
+    void parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--games":
+                    games = positive(arg, Integer.parseInt(value));
+                    break;
+                case "--threads":
+                    threads = Math.max(1, Integer.parseInt(value));
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--out":
+                    outPrefix = value;
+                    break;
+                case "--tick-hz":
+                    tickSeconds = 1.0 / positive(arg, Integer.parseInt(value));
+                    break;
+                case "--max-minutes":
+                    timeLimitSeconds = Double.parseDouble(value) * 60;
+                    break;
+                case "--parallel-tables":
+                    parallelMinTables = positive(arg, Integer.parseInt(value));
+                    break;
+                case "--sweep":
+                    int eq = value.indexOf('=');
+                    if (eq <= 0 || eq == value.length() - 1) {
+                        throw new IllegalArgumentException("Sweep must look like key=v1,v2: " + value);
+                    }
+                    String key = value.substring(0, eq);
+                    if (!isSweepKey(key)) {
+                        throw new IllegalArgumentException("Unknown sweep key " + key);
+                    }
+                    sweep.put(key, value.substring(eq + 1).split(","));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+    }
+
+    private static int positive(String option, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(option + " must be positive: " + value);
+        }
+        return value;
+    }
+
+    static boolean isSweepKey(String key) {
+        switch (key) {
+            case "cook":
+            case "scorePerLevel":
+            case "arrivalMin":
+            case "arrivalMax":
+            case "arrivalStep":
+            case "arrivalReduction":
+            case "arrivalFloor":
+            case "tables":
+            case "reaction":
+            case "player":
+                return true;
+            default:
+                int dot = key.indexOf('.');
+                if (dot < 0) {
+                    return false;
+                }
+                String field = key.substring(0, dot);
+                if (!field.equals("patience") && !field.equals("score") && !field.equals("rate")) {
+                    return false;
+                }
+                for (Customer.CustomerType type : Customer.CustomerType.values()) {
+                    if (type.name().equals(key.substring(dot + 1))) {
+                        return true;
+                    }
+                }
+                return false;
+        }
+    }
+
+    // Every combination of the swept values, first key varying slowest
+    List<Point> points() {
+        List<Map<String, String>> combinations = new ArrayList<>();
+        combinations.add(new LinkedHashMap<>());
+        for (Map.Entry<String, String[]> entry : sweep.entrySet()) {
+            List<Map<String, String>> next = new ArrayList<>();
+            for (Map<String, String> partial : combinations) {
+                for (String value : entry.getValue()) {
+                    Map<String, String> combination = new LinkedHashMap<>(partial);
+                    combination.put(entry.getKey(), value.trim());
+                    next.add(combination);
+                }
+            }
+            combinations = next;
+        }
+        List<Point> points = new ArrayList<>(combinations.size());
+        for (Map<String, String> combination : combinations) {
+            points.add(new Point(combination));
+        }
+        return points;
+    }
+
+    // Seed of game i; the same for every sweep point
+    static long gameSeed(long baseSeed, int game) {
+        return baseSeed + game * 0x9E3779B97F4A7C15L;
+    }
+
+    void run(List<Point> points) throws IOException, InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "BalanceWorker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ForkJoinPool updatePool = new ForkJoinPool(threads);
+        try (Writer gamesOut = open(outPrefix + "-games.csv");
+             Writer summaryOut = open(outPrefix + "-summary.csv")) {
+            String columns = String.join(",", sweep.keySet());
+            String prefix = columns.isEmpty() ? "" : ",";
+            gamesOut.write("point" + prefix + columns + ",game,seed,score,level,survival_s,timed_out,served,arrivals,dropped\n");
+            summaryOut.write("point" + prefix + columns + ",games,timed_out"
+                    + ",score_mean,score_p10,score_p50,score_p90"
+                    + ",level_mean,level_p10,level_p50,level_p90,level_max"
+                    + ",survival_mean_s,survival_p10_s,survival_p50_s,survival_p90_s\n");
+
+            for (int p = 0; p < points.size(); p++) {
+                Point point = points.get(p);
+                long startNs = System.nanoTime();
+                HeadlessGame.Result[] results = playAll(point, workers, updatePool);
+                double elapsedSeconds = (System.nanoTime() - startNs) / 1e9;
+
+                String label = p + (point.values.isEmpty() ? "" : "," + String.join(",", point.values.values()));
+                for (int g = 0; g < results.length; g++) {
+                    HeadlessGame.Result r = results[g];
+                    gamesOut.write(String.format(Locale.US, "%s,%d,%d,%d,%d,%.2f,%b,%d,%d,%d%n", label, g, r.seed,
+                            r.score, r.level, r.survivalSeconds, r.timedOut, r.served, r.arrivals, r.droppedArrivals));
+                }
+                summaryOut.write(label + "," + summarize(results) + "\n");
+                summaryOut.flush();
+                System.err.printf(Locale.US, "point %d/%d %s: %d games in %.1f s%n",
+                        p + 1, points.size(), point.values, results.length, elapsedSeconds);
+            }
+        } finally {
+            workers.shutdownNow();
+            updatePool.shutdownNow();
+        }
+    }
+
+    // Plays every game of one point; workers take game indices in turn until none are left
+    private HeadlessGame.Result[] playAll(Point point, ExecutorService workers, ForkJoinPool updatePool)
+            throws InterruptedException {
+        HeadlessGame.Result[] results = new HeadlessGame.Result[games];
+        AtomicInteger nextGame = new AtomicInteger();
+        int gameWorkers = Math.min(threads, games);
+        boolean partitioned = usesPartitionedTicks(point.layout.getTables().length);
+        List<Callable<Void>> tasks = new ArrayList<>(gameWorkers);
+        for (int t = 0; t < gameWorkers; t++) {
+            tasks.add(() -> {
+                HeadlessGame game = new HeadlessGame(point.balance, point.layout.getTables(), point.policy);
+                if (partitioned) {
+                    game.setParallelUpdate(updatePool, parallelMinTables);
+                }
+                game.setTickSeconds(tickSeconds);
+                game.setReactionSeconds(point.reactionSeconds);
+                game.setTimeLimitSeconds(timeLimitSeconds);
+                int g;
+                while ((g = nextGame.getAndIncrement()) < games) {
+                    results[g] = game.play(gameSeed(seed, g));
+                }
+                return null;
+            });
+        }
+        for (Future<Void> done : workers.invokeAll(tasks)) {
+            try {
+                done.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Game failed", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    // Large diners tick in partitions only when whole games alone would leave workers idle
+    boolean usesPartitionedTicks(int tables) {
+        return games < threads && tables >= parallelMinTables;
+    }
+
+    static String summarize(HeadlessGame.Result[] results) {
+        int n = results.length;
+        double[] scores = new double[n];
+        double[] levels = new double[n];
+        double[] survival = new double[n];
+        int timedOut = 0;
+        for (int i = 0; i < n; i++) {
+            scores[i] = results[i].score;
+            levels[i] = results[i].level;
+            survival[i] = results[i].survivalSeconds;
+            if (results[i].timedOut) {
+                timedOut++;
+            }
+        }
+        Arrays.sort(scores);
+        Arrays.sort(levels);
+        Arrays.sort(survival);
+        return String.format(Locale.US, "%d,%d,%.1f,%.0f,%.0f,%.0f,%.2f,%.0f,%.0f,%.0f,%.0f,%.1f,%.1f,%.1f,%.1f",
+                n, timedOut,
+                mean(scores), percentile(scores, 0.1), percentile(scores, 0.5), percentile(scores, 0.9),
+                mean(levels), percentile(levels, 0.1), percentile(levels, 0.5), percentile(levels, 0.9),
+                n > 0 ? levels[n - 1] : 0,
+                mean(survival), percentile(survival, 0.1), percentile(survival, 0.5), percentile(survival, 0.9));
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return values.length > 0 ? sum / values.length : 0;
+    }
+
+    // Nearest-rank percentile of sorted values
+    static double percentile(double[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+    }
+
+    private static Writer open(String path) throws IOException {
+        return Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.osdiner.core;
+
+/**
+ * Axis-aligned rectangle in screen pixels.
+ * Mirrors the parts of android.graphics.RectF the simulation needs, so table
+ * placement and hit testing can run on a plain JVM.
+ */
+public class Bounds {
+    public float left;
+    public float top;
+    public float right;
+    public float bottom;
+
+    public Bounds() {
+    }
+
+    public Bounds(float left, float top, float right, float bottom) {
+        set(left, top, right, bottom);
+    }
+
+    public void set(float left, float top, float right, float bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    public float width() { return right - left; }
+    public float height() { return bottom - top; }
+    public float centerX() { return (left + right) * 0.5f; }
+    public float centerY() { return (top + bottom) * 0.5f; }
+
+    // Same semantics as RectF.contains: left/top inclusive, right/bottom exclusive
+    public boolean contains(float x, float y) {
+        return left < right && top < bottom
+                && x >= left && x < right && y >= top && y < bottom;
+    }
+
+    @Override
+    public String toString() {
+        return "Bounds(" + left + ", " + top + ", " + right + ", " + bottom + ")";
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.osdiner.core;
+
+/**
+ * Pan and zoom over the diner floor.
+ *
+ * The camera maps a rectangle of world coordinates (where the layout put the
+ * tables) onto a viewport rectangle on screen. At zoom 1 with the world no
+ * bigger than the viewport the mapping is the identity, so a diner that fits
+ * on screen is drawn exactly where the layout placed it. Panning is clamped
+ * so the view never leaves the world, and zooming out stops once the whole
+ * world is in view.
+ *
+ * The renderer culls tables against the world rectangle in view, through
+ * DinerLayout's row and column ranges, and asks getDetailLevel() how much
+ * to draw for what is left.
+ *
+ * Not thread-safe: the UI thread moves one instance and the renderer takes a
+ * copy of it with set() at the start of each frame.
+ */
+public class Camera {
+
+    // Everything: icons, labels, patience bars and indicator text
+    public static final int DETAIL_FULL = 0;
+    // Icons and indicators only; text and patience bars would be unreadable
+    public static final int DETAIL_REDUCED = 1;
+    // One marker per cluster of occupied tables
+    public static final int DETAIL_MARKERS = 2;
+
+    static final float LABEL_MIN_ZOOM = 0.6f;
+    static final float MARKER_MAX_ZOOM = 0.35f;
+    static final float MAX_ZOOM = 2f;
+
+    private float viewportLeft;
+    private float viewportTop;
+    private float viewportRight;
+    private float viewportBottom;
+
+    private float worldLeft;
+    private float worldTop;
+    private float worldRight;
+    private float worldBottom;
+
+    private float zoom = 1f;
+    private float minZoom = 1f;
+    // World point drawn at the viewport's top-left corner
+    private float originX;
+    private float originY;
+
+    /**
+     * Sets the screen viewport and the world it can show, and returns to
+     * zoom 1 at the world's top-left corner.
+     */
+    public void setBounds(Bounds viewport, Bounds world) {
+        viewportLeft = viewport.left;
+        viewportTop = viewport.top;
+        viewportRight = viewport.right;
+        viewportBottom = viewport.bottom;
+        worldLeft = world.left;
+        worldTop = world.top;
+        worldRight = world.right;
+        worldBottom = world.bottom;
+
+        float fitX = viewport.width() / Math.max(1f, world.width());
+        float fitY = viewport.height() / Math.max(1f, world.height());
+        minZoom = Math.min(1f, Math.min(fitX, fitY));
+        zoom = 1f;
+        originX = worldLeft;
+        originY = worldTop;
+        clamp();
+    }
+
+    public void set(Camera other) {
+        viewportLeft = other.viewportLeft;
+        viewportTop = other.viewportTop;
+        viewportRight = other.viewportRight;
+        viewportBottom = other.viewportBottom;
+        worldLeft = other.worldLeft;
+        worldTop = other.worldTop;
+        worldRight = other.worldRight;
+        worldBottom = other.worldBottom;
+        zoom = other.zoom;
+        minZoom = other.minZoom;
+        originX = other.originX;
+        originY = other.originY;
+    }
+
+    // False when the whole world fits the viewport at zoom 1; there is then nothing to pan or zoom to
+    public boolean isWorldLargerThanView() {
+        return minZoom < 1f;
+    }
+
+    // Moves the view by a distance in screen pixels, e.g. a finger drag
+    public void panBy(float screenDx, float screenDy) {
+        originX -= screenDx / zoom;
+        originY -= screenDy / zoom;
+        clamp();
+    }
+
+    // Scales the view by factor, keeping the world point under (screenX, screenY) in place
+    public void zoomBy(float factor, float screenX, float screenY) {
+        float worldX = toWorldX(screenX);
+        float worldY = toWorldY(screenY);
+        zoom = Math.max(minZoom, Math.min(MAX_ZOOM, zoom * factor));
+        originX = worldX - (screenX - viewportLeft) / zoom;
+        originY = worldY - (screenY - viewportTop) / zoom;
+        clamp();
+    }
+
+    // Keeps the view inside the world, centring it on any axis where the world is smaller than the view
+    private void clamp() {
+        float viewWidth = (viewportRight - viewportLeft) / zoom;
+        float viewHeight = (viewportBottom - viewportTop) / zoom;
+        originX = clampAxis(originX, viewWidth, worldLeft, worldRight);
+        originY = clampAxis(originY, viewHeight, worldTop, worldBottom);
+    }
+
+    private static float clampAxis(float origin, float viewSize, float worldMin, float worldMax) {
+        if (viewSize >= worldMax - worldMin) {
+            return (worldMin + worldMax - viewSize) / 2f;
+        }
+        return Math.max(worldMin, Math.min(worldMax - viewSize, origin));
+    }
+
+    public float getZoom() { return zoom; }
+
+    public int getDetailLevel() {
+        if (zoom < MARKER_MAX_ZOOM) {
+            return DETAIL_MARKERS;
+        }
+        return zoom < LABEL_MIN_ZOOM ? DETAIL_REDUCED : DETAIL_FULL;
+    }
+
+    public float toScreenX(float worldX) { return viewportLeft + (worldX - originX) * zoom; }
+    public float toScreenY(float worldY) { return viewportTop + (worldY - originY) * zoom; }
+    public float toWorldX(float screenX) { return originX + (screenX - viewportLeft) / zoom; }
+    public float toWorldY(float screenY) { return originY + (screenY - viewportTop) / zoom; }
+
+    // Canvas transform: translate by these, then scale by getZoom()
+    public float getTranslateX() { return viewportLeft - originX * zoom; }
+    public float getTranslateY() { return viewportTop - originY * zoom; }
+
+    // The world rectangle currently in view
+    public float getViewLeft() { return originX; }
+    public float getViewTop() { return originY; }
+    public float getViewRight() { return toWorldX(viewportRight); }
+    public float getViewBottom() { return toWorldY(viewportBottom); }
+
+    public float getViewportLeft() { return viewportLeft; }
+    public float getViewportTop() { return viewportTop; }
+    public float getViewportRight() { return viewportRight; }
+    public float getViewportBottom() { return viewportBottom; }
+
+    // Changes whenever the mapping does; the dirty-rect renderer repaints everything when it moves
+    public long getKey() {
+        long key = Float.floatToIntBits(zoom);
+        key = key * 31 + Float.floatToIntBits(originX);
+        return key * 31 + Float.floatToIntBits(originY);
+    }
+}
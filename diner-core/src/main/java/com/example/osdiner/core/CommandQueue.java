@@ -0,0 +1,101 @@
+package com.example.osdiner.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of player commands, many producers and one consumer.
+ * Producers (the UI thread) post; only the game thread polls, at the start of
+ * each tick, so it stays the single writer of all simulation state.
+ *
+ * A command is packed into one long, so the ring is two preallocated long
+ * arrays and posting never allocates. Each cell carries a sequence number
+ * that tells producers and the consumer whose turn it is.
+ *
+ * Commands name customers by id rather than by reference; a customer that
+ * left (and was recycled) before the command is applied no longer matches.
+ */
+public class CommandQueue {
+
+    public static final int SEAT_CUSTOMER = 1;
+    public static final int CONFIRM_ORDER = 2;
+    public static final int DELIVER_FOOD = 3;
+    public static final int CLEAR_TABLE = 4;
+
+    public static final int NO_TABLE = -1;
+
+    // No command type is zero, so an encoded command is never NONE
+    public static final long NONE = 0L;
+
+    private final int mask;
+    private final AtomicLongArray sequence;
+    private final AtomicLongArray commands;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // Consumer only
+
+    public CommandQueue(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two >= 2: " + capacity);
+        }
+        mask = capacity - 1;
+        sequence = new AtomicLongArray(capacity);
+        commands = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequence.set(i, i);
+        }
+    }
+
+    public int capacity() { return mask + 1; }
+
+    // Layout: type in bits 56-63, table id in bits 32-47, customer id in bits 0-31
+    public static long encode(int type, int customerId, int tableId) {
+        return ((long) (type & 0xFF) << 56)
+                | ((long) (tableId & 0xFFFF) << 32)
+                | (customerId & 0xFFFFFFFFL);
+    }
+
+    public static int typeOf(long command) { return (int) (command >>> 56); }
+    public static int customerIdOf(long command) { return (int) command; }
+
+    public static int tableIdOf(long command) {
+        int table = (int) ((command >>> 32) & 0xFFFF);
+        return table == 0xFFFF ? NO_TABLE : table;
+    }
+
+    // Returns false when the queue is full; the command is dropped
+    public boolean offer(int type, int customerId, int tableId) {
+        long command = encode(type, customerId, tableId);
+        while (true) {
+            long position = tail.get();
+            int cell = (int) (position & mask);
+            long diff = sequence.get(cell) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    commands.lazySet(cell, command);
+                    sequence.set(cell, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // Another producer claimed this cell first; retry with the new tail
+        }
+    }
+
+    // Consumer only
+    public boolean isEmpty() {
+        return sequence.get((int) (head & mask)) != head + 1;
+    }
+
+    // Consumer only. Returns the next command, or NONE when nothing is ready.
+    public long poll() {
+        int cell = (int) (head & mask);
+        if (sequence.get(cell) != head + 1) {
+            return NONE;
+        }
+        long command = commands.get(cell);
+        sequence.lazySet(cell, head + mask + 1);
+        head++;
+        return command;
+    }
+}
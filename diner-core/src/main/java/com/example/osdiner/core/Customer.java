@@ -0,0 +1,305 @@
+package com.example.osdiner.core;
+
+
+import java.util.Map;
+import java.util.EnumMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+
+public class Customer {
+
+    // Enum for Customer Types
+    public enum CustomerType {
+        NORMAL,
+        IMPATIENT,
+        VIP
+    }
+
+    public static class CustomerConfig {
+        private final float initialPatience;
+        private final int scoreValue;
+
+        private final float patienceRateMultiplier;
+
+        public CustomerConfig(float initialPatience, int scoreValue, float patienceRateMultiplier) {
+            this.initialPatience = initialPatience;
+            this.scoreValue = scoreValue;
+            this.patienceRateMultiplier = patienceRateMultiplier;
+        }
+
+
+        public float getInitialPatience() {
+            return initialPatience;
+        }
+        public int getScoreValue() {
+            return scoreValue;
+        }
+
+        public float getPatienceRateMultiplier() {
+            return patienceRateMultiplier;
+        }
+
+    }
+
+    private static final Map<CustomerType, CustomerConfig> CONFIGS;
+    static {
+        CONFIGS = new EnumMap<>(CustomerType.class);
+        CONFIGS.put(CustomerType.NORMAL, new CustomerConfig(250f, 100, 1.0f));
+        CONFIGS.put(CustomerType.IMPATIENT, new CustomerConfig(200f, 150, 1.5f));
+        CONFIGS.put(CustomerType.VIP, new CustomerConfig(180f, 250, 1.0f));
+    }
+
+    public static CustomerConfig getConfig(CustomerType type) {
+        return CONFIGS.getOrDefault(type, CONFIGS.get(CustomerType.NORMAL));
+    }
+
+    public enum CustomerState {
+        WAITING_QUEUE, SEATED_IDLE, WAITING_ORDER_CONFIRM, WAITING_FOOD,
+        FOOD_READY, EATING, READY_TO_LEAVE, ANGRY_LEFT
+    }
+
+    private static final String TAG = "Customer";
+    private static final CustomerType[] CUSTOMER_TYPES = CustomerType.values();
+    // Ids for customers built outside a game; each game numbers its own through its CustomerPool
+    private static final ThreadLocal<int[]> standaloneIds = ThreadLocal.withInitial(() -> new int[1]);
+
+    // Not final: pooled customers are re-initialised through reset()
+    private int id;
+    private CustomerType type;
+    private float initialPatience;
+    private int scoreValue;
+
+    private float patienceRateMultiplier;
+    private String displayId; // Built on first use; cleared when reset() assigns a new id
+
+    // While the customer is in the diner its live values are kept in a CustomerStore slot.
+    // Before admission and after leaving they are held here instead.
+    private CustomerStore store;
+    private int slot = -1;
+    private CustomerState detachedState;
+    private float detachedPatience;
+
+    private static final float PATIENCE_DECREASE_RATE = 2.0f;
+    public static final float ORDER_READY_DELAY = 5.0f;
+    public static final float UNIVERSAL_EATING_DURATION = 10.0f;
+
+    // Random type from the calling thread's own generator, for tests and fixtures; games draw from their SessionRandom
+    public Customer() {
+        this(CUSTOMER_TYPES[ThreadLocalRandom.current().nextInt(CUSTOMER_TYPES.length)]);
+    }
+
+    public Customer(CustomerType type) {
+        this(type, getConfig(type));
+    }
+
+    public Customer(CustomerType type, CustomerConfig config) {
+        this(type, config, standaloneIds.get()[0]++);
+    }
+
+    public Customer(CustomerType type, CustomerConfig config, int id) {
+        reset(type, config, id);
+    }
+
+    public static CustomerType randomType(SplittableRandom random) {
+        return CUSTOMER_TYPES[random.nextInt(CUSTOMER_TYPES.length)];
+    }
+
+    // Turns this instance into a brand-new arriving customer of the given type and config, with the given id
+    public void reset(CustomerType newType, CustomerConfig config, int newId) {
+        if (store != null) {
+            throw new IllegalStateException("Cannot reset " + getDisplayId() + " while it is still in the diner");
+        }
+        this.id = newId;
+        this.type = newType;
+        this.displayId = null;
+
+        // Initialize instance fields from config using GETTERS
+        this.initialPatience = config.getInitialPatience();
+        this.scoreValue = config.getScoreValue();
+        this.patienceRateMultiplier = config.getPatienceRateMultiplier();
+
+        // Initialize dynamic state
+        this.detachedPatience = this.initialPatience;
+        this.detachedState = CustomerState.WAITING_QUEUE;
+
+        if (DinerLog.isDebugEnabled()) {
+            DinerLog.d(TAG, "Created " + getDisplayId() + " of type " + this.type
+                    + " (Patience: " + this.initialPatience + ", RateMult: " + this.patienceRateMultiplier
+                    + ", Score: " + this.scoreValue + ")");
+        }
+    }
+
+    public int getId() { return id; }
+
+    boolean isInDiner() { return store != null; }
+
+    // Moves this customer's live values into a store slot. rateScale is the diner-wide patience rate.
+    void attach(CustomerStore targetStore, float rateScale) {
+        if (store != null) {
+            return;
+        }
+        store = targetStore;
+        slot = targetStore.allocate(this, detachedPatience, rateScale * PATIENCE_DECREASE_RATE * patienceRateMultiplier);
+        if (detachedState != CustomerState.WAITING_QUEUE) {
+            targetStore.setState(slot, detachedState);
+        }
+    }
+
+    // Copies the final values back out of the store and frees the slot
+    void detach() {
+        if (store == null) {
+            return;
+        }
+        detachedState = store.getState(slot);
+        detachedPatience = store.getPatience(slot);
+        store.release(slot);
+        store = null;
+        slot = -1;
+    }
+
+    /**
+     * Moves this customer into another store of the same diner, keeping its
+     * state, patience, table and the time left on its phase timer. Unlike
+     * detach(), this is not a departure.
+     */
+    void moveTo(CustomerStore targetStore, float rateScale) {
+        if (store == null || store == targetStore) {
+            return;
+        }
+        int table = store.getTableIndex(slot);
+        float phaseRemaining = store.isPhaseRunning(slot) ? store.getPhaseTimeRemaining(slot) : -1f;
+        detachedState = store.getState(slot);
+        detachedPatience = store.getPatience(slot);
+        store.release(slot, false);
+        store = null;
+        slot = -1;
+
+        attach(targetStore, rateScale);
+        targetStore.setTableIndex(slot, table);
+        if (phaseRemaining >= 0f) {
+            targetStore.startPhaseTimer(slot, phaseRemaining);
+        }
+    }
+
+    int getSlot() { return slot; }
+
+    // Index of the table this customer sits at, or -1 while waiting or outside the diner
+    int getTableIndex() {
+        return store != null ? store.getTableIndex(slot) : -1;
+    }
+
+    void assignTable(int tableIndex) {
+        if (store != null) {
+            store.setTableIndex(slot, tableIndex);
+        }
+    }
+
+    public String getDisplayId() {
+        if (displayId == null) {
+            displayId = displayId(this.type, id);
+        }
+        return displayId;
+    }
+
+    // Display id for a customer known only by type and id, e.g. from a RenderSnapshot
+    public static String displayId(CustomerType type, int id) {
+
+        String prefix;
+
+        switch (type) {
+            case NORMAL:
+                prefix = "C";
+                break;
+            case IMPATIENT:
+                prefix = "IMP";
+                break;
+            case VIP:
+                prefix = "VIP";
+                break;
+            default:
+                prefix = "C";
+                if (DinerLog.isLoggable(DinerLog.WARN)) {
+                    DinerLog.w(TAG, "displayId() encountered unexpected type: " + type);
+                }
+                break;
+        }
+        return prefix + id;
+    }
+    public CustomerState getState() {
+        return store != null ? store.getState(slot) : detachedState;
+    }
+    public float getPatience() {
+        return store != null ? store.getPatience(slot) : detachedPatience;
+    }
+    public CustomerType getType() { return this.type; }
+
+    // Calculate percentage based on initial patience for this customer
+    public float getPatiencePercentage() {
+        if (this.initialPatience <= 0) return 0.0f;
+        return Math.max(0.0f, Math.min(1.0f, getPatience() / this.initialPatience));
+    }
+
+    // Patience percentage blended between the previous and current tick (alpha in 0..1)
+    public float getPatiencePercentage(float alpha) {
+        if (this.initialPatience <= 0) return 0.0f;
+        if (store == null) return getPatiencePercentage();
+        float previous = store.getPreviousPatience(slot);
+        float blended = previous + (store.getPatience(slot) - previous) * alpha;
+        return Math.max(0.0f, Math.min(1.0f, blended / this.initialPatience));
+    }
+
+    // State and Timer Methods
+    public void leaveAngry() {
+        if (store != null) {
+            store.setState(slot, CustomerState.ANGRY_LEFT);
+            store.setPatience(slot, 0);
+        } else {
+            detachedState = CustomerState.ANGRY_LEFT;
+            detachedPatience = 0;
+        }
+        if (DinerLog.isLoggable(DinerLog.WARN)) {
+            DinerLog.w(TAG, getDisplayId() + " (" + this.type + ") left angry!");
+        }
+    }
+
+    public void setState(CustomerState newState) {
+        CustomerState oldState = getState();
+        if (oldState != newState) {
+            if (DinerLog.isDebugEnabled()) {
+                DinerLog.d(TAG, getDisplayId() + " changing state from " + oldState + " to " + newState);
+            }
+            if (store != null) {
+                // The store also starts the order-ready timer when entering SEATED_IDLE
+                store.setState(slot, newState);
+            } else {
+                detachedState = newState;
+            }
+        }
+    }
+
+    public void startCookingTimer(float duration) {
+        if (store != null) {
+            store.startPhaseTimer(slot, duration);
+        }
+    }
+    public boolean isCookingFinished() {
+        return getState() == CustomerState.WAITING_FOOD && store != null && store.isPhaseFinished(slot);
+    }
+
+    public void startEatingTimer() {
+        if (store != null) {
+            store.startPhaseTimer(slot, UNIVERSAL_EATING_DURATION);
+        }
+        if (DinerLog.isDebugEnabled()) {
+            DinerLog.d(TAG, getDisplayId() + " started eating timer: " + UNIVERSAL_EATING_DURATION + "s");
+        }
+    }
+    public boolean isFinishedEating() {
+        return getState() == CustomerState.EATING && store != null && store.isPhaseFinished(slot);
+    }
+    public int getScoreValue() {
+        return this.scoreValue;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.example.osdiner.core;
+
+/**
+ * Bounded pool of Customer instances, so arrivals reuse customers that have
+ * left instead of allocating new ones.
+ * Customers are obtained and released by the game thread as it ticks.
+ * Access stays synchronized so a pool can be handed to other threads
+ * safely; an uncontended lock costs next to nothing.
+ *
+ * The pool also numbers the customers it hands out, from 0. Each game has
+ * its own pool, so a game's customer ids depend only on its own arrivals
+ * and replay with its seed.
+ */
+public class CustomerPool {
+
+    private final Customer[] free;
+    private int freeCount;
+    private int nextId;
+
+    private long hits;
+    private long misses;
+    private long released;
+    private long dropped;
+
+    public CustomerPool(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        free = new Customer[capacity];
+    }
+
+    public Customer obtain(Customer.CustomerType type) {
+        return obtain(type, Customer.getConfig(type));
+    }
+
+    public synchronized Customer obtain(Customer.CustomerType type, Customer.CustomerConfig config) {
+        if (freeCount > 0) {
+            Customer customer = free[--freeCount];
+            free[freeCount] = null;
+            customer.reset(type, config, nextId++);
+            hits++;
+            return customer;
+        }
+        misses++;
+        return new Customer(type, config, nextId++);
+    }
+
+    // Customers must have left the diner; extras beyond capacity are left to the GC
+    public synchronized void release(Customer customer) {
+        if (customer == null || customer.isInDiner()) {
+            return;
+        }
+        if (freeCount < free.length) {
+            free[freeCount++] = customer;
+            released++;
+        } else {
+            dropped++;
+        }
+    }
+
+    public synchronized int getFreeCount() { return freeCount; }
+    public int getCapacity() { return free.length; }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getReleased() { return released; }
+    public synchronized long getDropped() { return dropped; }
+
+    public synchronized float getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0f : hits / (float) total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CustomerPool(hits=" + hits + ", misses=" + misses + ", hitRate=" + getHitRate()
+                + ", released=" + released + ", dropped=" + dropped + ", free=" + freeCount + "/" + free.length + ")";
+    }
+}
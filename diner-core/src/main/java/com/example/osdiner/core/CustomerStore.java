@@ -0,0 +1,308 @@
+package com.example.osdiner.core;
+
+import java.util.Arrays;
+
+/**
+ * Slot-indexed, structure-of-arrays storage for per-customer simulation values.
+ * A Customer is a handle holding its slot here while it is in the diner.
+ *
+ * Nothing is decremented per tick. Patience is stored as a value at an anchor
+ * time plus a drain rate, and is evaluated lazily from the simulation clock.
+ * Patience expiry and the order/cook/eat phase ends are absolute deadlines
+ * scheduled in a TimerWheel, so a tick only touches the customers whose
+ * deadline actually came due.
+ *
+ * The order, cooking and eating timers are never active at the same time, so
+ * they share one phase deadline per slot.
+ *
+ * Only the game thread may touch the store.
+ */
+public class CustomerStore {
+
+    private static final int INITIAL_CAPACITY = 32;
+    private static final Customer.CustomerState[] STATES = Customer.CustomerState.values();
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // Timer wheel resolution: one wheel tick per millisecond of simulation time
+    private static final long NANOS_PER_WHEEL_TICK = 1_000_000L;
+
+    // Each slot owns two timers in the wheel
+    private static final int PATIENCE_TIMER = 0;
+    private static final int PHASE_TIMER = 1;
+
+    private Customer[] handles;
+    private byte[] state;
+    private float[] patienceAtAnchor;
+    private long[] anchorNanos;
+    private float[] patienceRate;    // Drain per second for this customer
+    private long[] phaseDeadline;
+    private int[] tableIndex;        // -1 while waiting in the queue
+    private int[] eventStamp;        // Tick number an event was last recorded for this slot
+    private boolean[] patienceDue;   // Patience timer fired on the last tick
+
+    private final IdIndex slotsById;  // Customer id -> slot, for customers named only by id
+
+    private int highWater;           // Slots [0, highWater) have been used at least once
+    private int[] freeSlots;
+    private int freeCount;
+    private int liveCount;
+
+    private final TimerWheel timers;
+    private TraceRing trace;
+    private long nowNanos;
+    private long previousNanos;
+    private int tickNumber;
+
+    // Slots whose patience ran out or whose phase finished on the last tick
+    private int[] events;
+    private int eventCount;
+
+    public CustomerStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public CustomerStore(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        handles = new Customer[capacity];
+        state = new byte[capacity];
+        patienceAtAnchor = new float[capacity];
+        anchorNanos = new long[capacity];
+        patienceRate = new float[capacity];
+        phaseDeadline = new long[capacity];
+        tableIndex = new int[capacity];
+        eventStamp = new int[capacity];
+        patienceDue = new boolean[capacity];
+        freeSlots = new int[capacity];
+        events = new int[capacity];
+        timers = new TimerWheel(capacity * 2);
+        slotsById = new IdIndex(capacity);
+    }
+
+    public int size() { return liveCount; }
+    public int capacity() { return handles.length; }
+
+    // Records every state change and departure when set; null disables tracing
+    public void setTraceRing(TraceRing traceRing) {
+        this.trace = traceRing;
+    }
+
+    // Simulation clock, advanced only by tick()
+    public long getTimeNanos() { return nowNanos; }
+
+    // Sets the clock of a store nobody is in yet, so it can tick in step with another store
+    void startClockAt(long nanos) {
+        if (liveCount > 0) {
+            throw new IllegalStateException("startClockAt() needs an empty store");
+        }
+        nowNanos = nanos;
+        previousNanos = nanos;
+        eventCount = 0;
+        timers.startAt(nanos / NANOS_PER_WHEEL_TICK);
+    }
+
+    int allocate(Customer customer, float initialPatience, float patiencePerSecond) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (highWater == handles.length) {
+                grow();
+            }
+            slot = highWater++;
+        }
+        handles[slot] = customer;
+        slotsById.put(customer.getId(), slot);
+        patienceAtAnchor[slot] = initialPatience;
+        anchorNanos[slot] = nowNanos;
+        patienceRate[slot] = patiencePerSecond;
+        phaseDeadline[slot] = nowNanos;
+        tableIndex[slot] = -1;
+        eventStamp[slot] = tickNumber - 1;
+        patienceDue[slot] = false;
+        liveCount++;
+        // Start from a non-draining state so setState keeps the initial patience as is
+        state[slot] = (byte) Customer.CustomerState.ANGRY_LEFT.ordinal();
+        setState(slot, Customer.CustomerState.WAITING_QUEUE);
+        return slot;
+    }
+
+    void release(int slot) {
+        release(slot, true);
+    }
+
+    // traced is false when the customer is only moving to another store, not leaving the diner
+    void release(int slot, boolean traced) {
+        if (traced && trace != null) {
+            trace.record(nowNanos, TraceRing.EVENT_CUSTOMER_LEFT, handles[slot].getId(), state[slot], tableIndex[slot]);
+        }
+        timers.cancel(slot * 2 + PATIENCE_TIMER);
+        timers.cancel(slot * 2 + PHASE_TIMER);
+        slotsById.remove(handles[slot].getId());
+        handles[slot] = null;
+        tableIndex[slot] = -1;
+        freeSlots[freeCount++] = slot;
+        liveCount--;
+    }
+
+    private void grow() {
+        int capacity = handles.length * 2;
+        handles = Arrays.copyOf(handles, capacity);
+        state = Arrays.copyOf(state, capacity);
+        patienceAtAnchor = Arrays.copyOf(patienceAtAnchor, capacity);
+        anchorNanos = Arrays.copyOf(anchorNanos, capacity);
+        patienceRate = Arrays.copyOf(patienceRate, capacity);
+        phaseDeadline = Arrays.copyOf(phaseDeadline, capacity);
+        tableIndex = Arrays.copyOf(tableIndex, capacity);
+        eventStamp = Arrays.copyOf(eventStamp, capacity);
+        patienceDue = Arrays.copyOf(patienceDue, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+        events = Arrays.copyOf(events, capacity);
+        timers.ensureCapacity(capacity * 2);
+    }
+
+    // Advances the clock by dt and collects the slots whose deadlines came due
+    public void tick(float dt) {
+        previousNanos = nowNanos;
+        nowNanos += Math.round(dt * (double) NANOS_PER_SECOND);
+        tickNumber++;
+
+        timers.advance(nowNanos / NANOS_PER_WHEEL_TICK);
+
+        for (int i = 0; i < eventCount; i++) {
+            patienceDue[events[i]] = false;
+        }
+        eventCount = 0;
+        int expired = timers.getExpiredCount();
+        for (int i = 0; i < expired; i++) {
+            int timer = timers.getExpired(i);
+            int slot = timer / 2;
+            if (timer % 2 == PATIENCE_TIMER) {
+                patienceDue[slot] = true;
+            }
+            if (eventStamp[slot] != tickNumber) {
+                eventStamp[slot] = tickNumber;
+                events[eventCount++] = slot;
+            }
+        }
+    }
+
+    public int getEventCount() { return eventCount; }
+    public int getEventSlot(int index) { return events[index]; }
+
+    public Customer getHandle(int slot) { return handles[slot]; }
+
+    // The customer in the diner with this id, or null if it has left
+    public Customer findById(int customerId) {
+        int slot = slotsById.get(customerId);
+        return slot == IdIndex.MISSING ? null : handles[slot];
+    }
+
+    public Customer.CustomerState getState(int slot) { return STATES[state[slot]]; }
+
+    private static boolean drainsPatience(Customer.CustomerState customerState) {
+        switch (customerState) {
+            case WAITING_QUEUE:
+            case SEATED_IDLE:
+            case WAITING_ORDER_CONFIRM:
+            case WAITING_FOOD:
+            case FOOD_READY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean hasPhaseTimer(Customer.CustomerState customerState) {
+        return customerState == Customer.CustomerState.SEATED_IDLE
+                || customerState == Customer.CustomerState.WAITING_FOOD
+                || customerState == Customer.CustomerState.EATING;
+    }
+
+    void setState(int slot, Customer.CustomerState newState) {
+        // Freeze patience at its current value before the drain rate may change
+        patienceAtAnchor[slot] = getPatience(slot);
+        anchorNanos[slot] = nowNanos;
+        state[slot] = (byte) newState.ordinal();
+        if (trace != null) {
+            trace.record(nowNanos, TraceRing.EVENT_STATE_CHANGED, handles[slot].getId(), state[slot], tableIndex[slot]);
+        }
+
+        if (drainsPatience(newState)) {
+            schedulePatienceExpiry(slot);
+        } else {
+            timers.cancel(slot * 2 + PATIENCE_TIMER);
+        }
+
+        if (newState == Customer.CustomerState.SEATED_IDLE) {
+            startPhaseTimer(slot, Customer.ORDER_READY_DELAY);
+        } else if (hasPhaseTimer(newState)) {
+            // Duration is set by startPhaseTimer; until then the phase counts as finished
+            startPhaseTimer(slot, 0f);
+        } else {
+            timers.cancel(slot * 2 + PHASE_TIMER);
+        }
+    }
+
+    private void schedulePatienceExpiry(int slot) {
+        float rate = patienceRate[slot];
+        if (rate <= 0f) {
+            timers.cancel(slot * 2 + PATIENCE_TIMER);
+            return;
+        }
+        long remaining = (long) Math.ceil(patienceAtAnchor[slot] / rate * NANOS_PER_SECOND);
+        timers.schedule(slot * 2 + PATIENCE_TIMER, wheelTickAtOrAfter(nowNanos + Math.max(0L, remaining)));
+    }
+
+    void startPhaseTimer(int slot, float duration) {
+        phaseDeadline[slot] = nowNanos + Math.max(0L, Math.round(duration * (double) NANOS_PER_SECOND));
+        timers.schedule(slot * 2 + PHASE_TIMER, wheelTickAtOrAfter(phaseDeadline[slot]));
+    }
+
+    private static long wheelTickAtOrAfter(long nanos) {
+        return (nanos + NANOS_PER_WHEEL_TICK - 1) / NANOS_PER_WHEEL_TICK;
+    }
+
+    private float patienceAt(int slot, long atNanos) {
+        Customer.CustomerState customerState = STATES[state[slot]];
+        if (!drainsPatience(customerState)) {
+            return patienceAtAnchor[slot];
+        }
+        long since = Math.max(0L, atNanos - anchorNanos[slot]);
+        return patienceAtAnchor[slot] - patienceRate[slot] * (since / (float) NANOS_PER_SECOND);
+    }
+
+    public float getPatience(int slot) {
+        return patienceAt(slot, nowNanos);
+    }
+
+    // Patience as of the previous tick, never earlier than the last state change
+    public float getPreviousPatience(int slot) {
+        return patienceAt(slot, previousNanos);
+    }
+
+    void setPatience(int slot, float value) {
+        patienceAtAnchor[slot] = value;
+        anchorNanos[slot] = nowNanos;
+        if (drainsPatience(STATES[state[slot]])) {
+            schedulePatienceExpiry(slot);
+        }
+    }
+
+    public boolean isPhaseRunning(int slot) { return hasPhaseTimer(STATES[state[slot]]); }
+
+    public float getPhaseTimeRemaining(int slot) {
+        return (phaseDeadline[slot] - nowNanos) / (float) NANOS_PER_SECOND;
+    }
+
+    // The timer firing is authoritative; the value check only guards against float rounding
+    public boolean isPatienceExpired(int slot) {
+        return drainsPatience(STATES[state[slot]]) && (patienceDue[slot] || getPatience(slot) <= 0f);
+    }
+
+    public boolean isPhaseFinished(int slot) {
+        return isPhaseRunning(slot) && nowNanos >= phaseDeadline[slot];
+    }
+
+    public int getTableIndex(int slot) { return tableIndex[slot]; }
+    void setTableIndex(int slot, int index) { tableIndex[slot] = index; }
+}
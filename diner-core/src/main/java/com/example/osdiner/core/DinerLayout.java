@@ -0,0 +1,149 @@
+package com.example.osdiner.core;
+
+/**
+ * Places the waiting area, kitchen counter and tables on a screen of a given
+ * size. Tables form a grid to the right of the waiting area and above the
+ * counter; the grid shape is fixed by the column count or, with AUTO_COLUMNS,
+ * chosen so that tables stay as large as possible for the space available.
+ * Small diners (up to AUTO_SINGLE_ROW_MAX tables) stay on a single row.
+ *
+ * Tables never shrink below MIN_TABLE_SIZE. A diner too big for that spills
+ * past the screen: getFloor() is the part of the screen tables are shown in,
+ * and getWorld() the (possibly larger) area they occupy, for a Camera to pan
+ * over. For diners that fit, the two are the same.
+ *
+ * The configuration is immutable; compute() fills in the bounds and may be
+ * called again whenever the surface changes size.
+ */
+public class DinerLayout {
+
+    public static final int DEFAULT_TABLE_COUNT = 3;
+    public static final int MAX_TABLE_COUNT = 512;
+    public static final int AUTO_COLUMNS = 0;
+    public static final float MIN_TABLE_SIZE = 160f;
+
+    static final int AUTO_SINGLE_ROW_MAX = 4;
+    static final float MARGIN = 20f;
+
+    private final int tableCount;
+    private final int requestedColumns;
+    private final int waitingCapacity;
+
+    private final Bounds waitingArea = new Bounds();
+    private final Bounds counter = new Bounds();
+    private final Bounds floor = new Bounds();
+    private final Bounds world = new Bounds();
+    private final Bounds[] tables;
+    private int columns;
+    private int rows;
+    // Table (column, row) spans [gridLeft + column * pitchX, + tableSize) across, and likewise down
+    private float gridLeft;
+    private float gridTop;
+    private float pitchX;
+    private float pitchY;
+    private float tableSize;
+
+    public DinerLayout() {
+        this(DEFAULT_TABLE_COUNT, AUTO_COLUMNS, DinerState.UNLIMITED_WAITING);
+    }
+
+    /**
+     * @param tableCount      number of tables, clamped to [1, MAX_TABLE_COUNT]
+     * @param columns         tables per row, or AUTO_COLUMNS
+     * @param waitingCapacity most customers the waiting area holds, or DinerState.UNLIMITED_WAITING
+     */
+    public DinerLayout(int tableCount, int columns, int waitingCapacity) {
+        this.tableCount = Math.max(1, Math.min(MAX_TABLE_COUNT, tableCount));
+        this.requestedColumns = Math.max(AUTO_COLUMNS, Math.min(this.tableCount, columns));
+        this.waitingCapacity = waitingCapacity > 0 ? waitingCapacity : DinerState.UNLIMITED_WAITING;
+        tables = new Bounds[this.tableCount];
+        for (int i = 0; i < tables.length; i++) {
+            tables[i] = new Bounds();
+        }
+    }
+
+    public int getTableCount() { return tableCount; }
+    public int getWaitingCapacity() { return waitingCapacity; }
+
+    // Grid shape chosen by the last compute()
+    public int getColumns() { return columns; }
+    public int getRows() { return rows; }
+
+    public Bounds getWaitingArea() { return waitingArea; }
+    public Bounds getCounter() { return counter; }
+    public Bounds getFloor() { return floor; }
+    public Bounds getWorld() { return world; }
+
+    // Row-major: table i is in row i / getColumns()
+    public Bounds[] getTables() { return tables; }
+
+    public void compute(int width, int height) {
+        waitingArea.set(MARGIN, MARGIN, MARGIN + width / 5.0f, height - MARGIN);
+
+        float counterTop = height * 0.70f;
+        counter.set(waitingArea.right + MARGIN, counterTop, width - MARGIN, height * 0.95f);
+
+        float areaLeft = waitingArea.right + MARGIN;
+        float areaWidth = Math.max(1f, width - MARGIN - areaLeft);
+        float areaHeight = Math.max(1f, counterTop - MARGIN - MARGIN);
+        floor.set(waitingArea.right, 0f, width, counterTop);
+
+        columns = requestedColumns != AUTO_COLUMNS ? requestedColumns : autoColumns(areaWidth, areaHeight);
+        rows = (tableCount + columns - 1) / columns;
+
+        // Leaves at least one table's width of gaps across a row and half a table's height between rows
+        float fittedSize = Math.min(areaWidth / (columns + 1), areaHeight / (rows * 1.5f + 1f));
+        tableSize = Math.max(MIN_TABLE_SIZE, fittedSize);
+        float spacingX = (areaWidth - columns * tableSize) / (columns + 1);
+        float spacingY = (areaHeight - rows * tableSize) / (rows + 1);
+        if (fittedSize < MIN_TABLE_SIZE) {
+            // Spilling past the screen: keep room for the indicator above each table and the plate beside it
+            float minSpacing = tableSize * 0.75f;
+            spacingX = Math.max(minSpacing, spacingX);
+            spacingY = Math.max(minSpacing, spacingY);
+        }
+        gridLeft = areaLeft + spacingX;
+        gridTop = MARGIN + spacingY;
+        pitchX = tableSize + spacingX;
+        pitchY = tableSize + spacingY;
+
+        for (int i = 0; i < tableCount; i++) {
+            int column = i % columns;
+            int row = i / columns;
+            float left = gridLeft + column * pitchX;
+            float top = gridTop + row * pitchY;
+            tables[i].set(left, top, left + tableSize, top + tableSize);
+        }
+
+        world.set(floor.left, floor.top,
+                Math.max(floor.right, gridLeft + columns * pitchX + MARGIN),
+                Math.max(floor.bottom, gridTop + rows * pitchY + MARGIN));
+    }
+
+    // First grid column with a table reaching past world x = left; may exceed getColumns() - 1 when none does
+    public int firstColumn(float left) {
+        return Math.max(0, (int) Math.floor((left - gridLeft - tableSize) / pitchX) + 1);
+    }
+
+    // Last grid column with a table starting before world x = right; negative when none does
+    public int lastColumn(float right) {
+        return Math.min(columns - 1, (int) Math.ceil((right - gridLeft) / pitchX) - 1);
+    }
+
+    public int firstRow(float top) {
+        return Math.max(0, (int) Math.floor((top - gridTop - tableSize) / pitchY) + 1);
+    }
+
+    public int lastRow(float bottom) {
+        return Math.min(rows - 1, (int) Math.ceil((bottom - gridTop) / pitchY) - 1);
+    }
+
+    // Columns that keep the grid's cells closest to square in the table area
+    private int autoColumns(float areaWidth, float areaHeight) {
+        if (tableCount <= AUTO_SINGLE_ROW_MAX) {
+            return tableCount;
+        }
+        int c = (int) Math.ceil(Math.sqrt(tableCount * areaWidth / areaHeight));
+        return Math.max(1, Math.min(tableCount, c));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.osdiner.core;
+
+/**
+ * Logging facade for the simulation core.
+ * The Android app installs a sink that forwards to logcat; headless runs keep
+ * the default sink, which drops everything.
+ *
+ * Messages below the minimum priority are dropped. Hot paths should check
+ * isLoggable (or isDebugEnabled) before building a message, so that nothing
+ * is concatenated or allocated when the level is off. Logging starts fully
+ * off until setMinPriority is called.
+ */
+public final class DinerLog {
+
+    // Same values as android.util.Log priorities so sinks can pass them straight through
+    public static final int DEBUG = 3;
+    public static final int INFO = 4;
+    public static final int WARN = 5;
+    public static final int ERROR = 6;
+    public static final int OFF = Integer.MAX_VALUE;
+
+    public interface Sink {
+        void log(int priority, String tag, String message, Throwable error);
+    }
+
+    private static final Sink NO_OP = (priority, tag, message, error) -> { };
+
+    private static volatile Sink sink = NO_OP;
+    private static volatile int minPriority = OFF;
+
+    private DinerLog() {
+    }
+
+    public static void setSink(Sink newSink) {
+        sink = (newSink != null) ? newSink : NO_OP;
+    }
+
+    public static void setMinPriority(int priority) {
+        minPriority = priority;
+    }
+
+    public static boolean isLoggable(int priority) {
+        return priority >= minPriority;
+    }
+
+    public static boolean isDebugEnabled() {
+        return DEBUG >= minPriority;
+    }
+
+    private static void log(int priority, String tag, String message, Throwable error) {
+        if (priority >= minPriority) {
+            sink.log(priority, tag, message, error);
+        }
+    }
+
+    public static void d(String tag, String message) { log(DEBUG, tag, message, null); }
+    public static void i(String tag, String message) { log(INFO, tag, message, null); }
+    public static void w(String tag, String message) { log(WARN, tag, message, null); }
+    public static void w(String tag, String message, Throwable error) { log(WARN, tag, message, error); }
+    public static void e(String tag, String message) { log(ERROR, tag, message, null); }
+    public static void e(String tag, String message, Throwable error) { log(ERROR, tag, message, error); }
+}
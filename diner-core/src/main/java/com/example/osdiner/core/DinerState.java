@@ -0,0 +1,692 @@
+package com.example.osdiner.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class DinerState {
+    private static final String TAG = "DinerState";
+
+    // Arrivals that do not fit in the waiting area yet; beyond its capacity they are turned away
+    private final BlockingQueue<Customer> customerArrivalQueue;
+    private static final int ARRIVAL_QUEUE_CAPACITY = 10;
+
+    // Arrivals are events on the simulation clock, scheduled one at a time from the balance's rate curve
+    private boolean arrivalsEnabled = true;
+    private long nextArrivalNanos;
+    private int arrivals;
+    private int turnedAway;
+
+    private static final float PATIENCE_DECREASE_RATE = 2.0f;
+    private final List<Customer> waitingCustomers;
+    public static final int UNLIMITED_WAITING = Integer.MAX_VALUE;
+    private int waitingCapacity = UNLIMITED_WAITING;
+
+    private final List<Table> tables = new ArrayList<>();
+
+    // Live patience and timer values for every customer currently in the diner.
+    // With table partitions this is partition 0's store, which also holds the waiting queue.
+    private final CustomerStore customerStore = new CustomerStore();
+
+    // Optional parallel tick for large headless diners: tables are split into contiguous
+    // partitions, each with its own store, and the partitions' timer passes run on updatePool
+    public static final int DEFAULT_PARALLEL_MIN_TABLES = 256;
+    private ForkJoinPool updatePool;
+    private int parallelMinTables = DEFAULT_PARALLEL_MIN_TABLES;
+    private PartitionUpdate[] partitions = { new PartitionUpdate(customerStore) };
+    private int tablesPerPartition = Integer.MAX_VALUE;
+    private final ParallelUpdate parallelUpdate = new ParallelUpdate();
+
+    // Customers that left are recycled for new arrivals
+    private static final int CUSTOMER_POOL_CAPACITY = 64;
+    private final CustomerPool customerPool = new CustomerPool(CUSTOMER_POOL_CAPACITY);
+    private TraceRing traceRing;
+
+    // Player actions from the UI thread, applied at the start of each tick
+    private static final int COMMAND_QUEUE_CAPACITY = 64;
+    private final CommandQueue commandQueue = new CommandQueue(COMMAND_QUEUE_CAPACITY);
+
+    // Cook time, level threshold and customer values for this game
+    private final GameBalance balance;
+    // This session's random streams; its seed replays the session
+    private final SessionRandom random;
+
+    private int score;
+    private int customersServed;
+
+    //Lives and Levels
+    private static final int INITIAL_LIVES = 5;
+    private static final int MAX_LIVES = 7;
+    private int playerLives;
+    private int currentLevel;
+    private int scoreForNextLevel;
+    private boolean isGameOver;
+
+    public DinerState() {
+        this(GameBalance.DEFAULT, new SessionRandom());
+    }
+
+    public DinerState(GameBalance balance, SessionRandom random) {
+        this.balance = balance;
+        this.random = random;
+        // Initialize core components
+        customerArrivalQueue = new ArrayBlockingQueue<>(ARRIVAL_QUEUE_CAPACITY);
+        waitingCustomers = new ArrayList<>();
+        score = 0;
+        isGameOver = false;
+
+        // Initialize Lives and Leveling
+        playerLives = INITIAL_LIVES;
+        currentLevel = 1;
+        scoreForNextLevel = balance.getScorePerLevel(); // First level up at one level's worth of points
+        nextArrivalNanos = arrivalDelayNanos();
+        if (DinerLog.isLoggable(DinerLog.INFO)) {
+            DinerLog.i(TAG, "Game Start - Seed: " + random.getSeed() + ", Lives: " + playerLives + ", Level: " + currentLevel + ", Next Level Score: " + scoreForNextLevel);
+        }
+    }
+
+    public GameBalance getBalance() { return balance; }
+    public SessionRandom getRandom() { return random; }
+
+    public int getScore() { return score; }
+    public int getCustomersServed() { return customersServed; }
+    public boolean isGameOver() { return isGameOver; }
+
+    public int getPlayerLives() { return playerLives; }
+    public int getCurrentLevel() { return currentLevel; }
+
+    public void initializeTables(Bounds[] tableRects) {
+        // Customers seated at the old tables are lost with them
+        for (Table table : tables) {
+            if (table.isOccupied()) {
+                Customer seated = table.getSeatedCustomer();
+                seated.detach();
+                customerPool.release(seated);
+            }
+        }
+        tables.clear(); // Clear previous tables if layout changes
+        if (tableRects != null) {
+            for (Bounds rect : tableRects) {
+                tables.add(new Table(tables.size(), rect));
+            }
+            if (DinerLog.isDebugEnabled()) {
+                DinerLog.d(TAG, "Initialized " + tables.size() + " tables.");
+            }
+        } else if (DinerLog.isLoggable(DinerLog.WARN)) {
+            DinerLog.w(TAG, "initializeTables called with null tableRects array.");
+        }
+        repartition();
+    }
+
+    // Most customers the waiting area holds; arrivals beyond it stay queued until there is room
+    public void setWaitingCapacity(int capacity) {
+        waitingCapacity = capacity > 0 ? capacity : UNLIMITED_WAITING;
+    }
+
+    public int getWaitingCapacity() {
+        return waitingCapacity;
+    }
+
+    public BlockingQueue<Customer> getCustomerArrivalQueue() {
+        return customerArrivalQueue;
+    }
+
+    public List<Customer> getWaitingCustomers() {
+        return waitingCustomers;
+    }
+
+    // Adds a customer straight to the waiting list, bypassing the arrival queue
+    public void addWaitingCustomer(Customer customer) {
+        customer.attach(customerStore, PATIENCE_DECREASE_RATE);
+        waitingCustomers.add(customer);
+    }
+
+    public CustomerStore getCustomerStore() {
+        return customerStore;
+    }
+
+    public CustomerPool getCustomerPool() {
+        return customerPool;
+    }
+
+    // Structured event trace for this game; pass null to turn tracing off
+    public void setTraceRing(TraceRing traceRing) {
+        this.traceRing = traceRing;
+        // The ring is single-threaded, so a traced diner always updates serially
+        repartition();
+        customerStore.setTraceRing(traceRing);
+    }
+
+    /**
+     * Runs each tick's timer and patience pass as one task per table
+     * partition on pool, once the diner has at least minTables tables.
+     * Smaller diners, a null pool and a diner with a trace ring keep the
+     * serial path. Results are merged in partition order, so a run gives the
+     * same outcome either way. Meant for headless runs; the pool's
+     * parallelism sets the number of partitions.
+     */
+    public void setParallelUpdate(ForkJoinPool pool, int minTables) {
+        updatePool = pool;
+        parallelMinTables = Math.max(1, minTables);
+        repartition();
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    // Splits the tables for the current settings and moves seated customers into their partition's store
+    private void repartition() {
+        int count = 1;
+        if (updatePool != null && traceRing == null && tables.size() >= parallelMinTables) {
+            count = Math.max(1, Math.min(updatePool.getParallelism(), tables.size()));
+        }
+        PartitionUpdate[] old = partitions;
+        if (count > old.length) {
+            partitions = Arrays.copyOf(old, count);
+            for (int p = old.length; p < count; p++) {
+                CustomerStore store = new CustomerStore();
+                store.startClockAt(customerStore.getTimeNanos());
+                partitions[p] = new PartitionUpdate(store);
+            }
+        }
+        tablesPerPartition = count == 1 ? Integer.MAX_VALUE : (tables.size() + count - 1) / count;
+        for (int t = 0; t < tables.size(); t++) {
+            Customer seated = tables.get(t).getSeatedCustomer();
+            if (seated != null) {
+                seated.moveTo(storeForTable(t), PATIENCE_DECREASE_RATE);
+            }
+        }
+        if (count < partitions.length) {
+            partitions = Arrays.copyOf(partitions, count);
+        }
+    }
+
+    private CustomerStore storeForTable(int tableIndex) {
+        return partitions[Math.min(tableIndex / tablesPerPartition, partitions.length - 1)].store;
+    }
+
+    public TraceRing getTraceRing() {
+        return traceRing;
+    }
+
+    public List<Table> getTables() {
+        return tables;
+    }
+
+    public CommandQueue getCommandQueue() {
+        return commandQueue;
+    }
+
+    // Thread-safe; customers and tables are named by id, as a RenderSnapshot holds them.
+    // The action happens on the next tick. Returns false if the queue is full.
+    public boolean postSeatCustomer(int customerId, int tableId) {
+        return commandQueue.offer(CommandQueue.SEAT_CUSTOMER, customerId, tableId);
+    }
+
+    public boolean postConfirmOrder(int customerId) {
+        return commandQueue.offer(CommandQueue.CONFIRM_ORDER, customerId, CommandQueue.NO_TABLE);
+    }
+
+    public boolean postDeliverFood(int customerId, int tableId) {
+        return commandQueue.offer(CommandQueue.DELIVER_FOOD, customerId, tableId);
+    }
+
+    public boolean postClearTable(int customerId) {
+        return commandQueue.offer(CommandQueue.CLEAR_TABLE, customerId, CommandQueue.NO_TABLE);
+    }
+
+    // Game thread only. Applies every posted command in the order it was posted.
+    private void applyCommands() {
+        long command;
+        while ((command = commandQueue.poll()) != CommandQueue.NONE) {
+            applyCommand(command);
+        }
+    }
+
+    /**
+     * Game thread only. Applies one command, encoded as by CommandQueue.encode,
+     * right away; a headless driver uses this instead of the queue, which is
+     * bounded. Commands for customers who have left are dropped.
+     */
+    public void applyCommand(long command) {
+        int customerId = CommandQueue.customerIdOf(command);
+        Customer customer = findCustomer(customerId);
+        if (customer == null) {
+            // Left (and possibly recycled) after the command was posted
+            if (DinerLog.isDebugEnabled()) {
+                DinerLog.d(TAG, "Dropping command " + CommandQueue.typeOf(command) + " for departed customer " + customerId);
+            }
+            return;
+        }
+        int tableId = CommandQueue.tableIdOf(command);
+        Table table = (tableId >= 0 && tableId < tables.size()) ? tables.get(tableId) : null;
+        switch (CommandQueue.typeOf(command)) {
+            case CommandQueue.SEAT_CUSTOMER:
+                trySeatCustomerByDrag(customer, table);
+                break;
+            case CommandQueue.CONFIRM_ORDER:
+                confirmCustomerOrder(customer);
+                break;
+            case CommandQueue.DELIVER_FOOD:
+                deliverFood(customer, table);
+                break;
+            case CommandQueue.CLEAR_TABLE:
+                clearTableForCustomer(customer);
+                break;
+            default:
+                if (DinerLog.isLoggable(DinerLog.WARN)) {
+                    DinerLog.w(TAG, "Unknown command type " + CommandQueue.typeOf(command));
+                }
+        }
+    }
+
+    // Waiting and seated customers are all in the partitions' stores, which index them by id
+    private Customer findCustomer(int customerId) {
+        for (PartitionUpdate partition : partitions) {
+            Customer customer = partition.store.findById(customerId);
+            if (customer != null) {
+                return customer;
+            }
+        }
+        return null;
+    }
+
+    // Update game state based on time elapsed since last frame
+    public int update(double deltaTime) {
+        if (isGameOver) {
+            return 0;
+        }
+
+        float dt = (float)deltaTime;
+
+        // Player input posted since the last tick takes effect before the clock moves
+        applyCommands();
+
+        // Advance patience and phase timers and handle whoever came due, per partition
+        PartitionUpdate[] parts = partitions;
+        for (PartitionUpdate part : parts) {
+            part.dt = dt;
+        }
+        if (parts.length > 1) {
+            parallelUpdate.reinitialize();
+            for (PartitionUpdate part : parts) {
+                part.reinitialize();
+            }
+            updatePool.invoke(parallelUpdate);
+        } else {
+            parts[0].run();
+        }
+
+        // Merge in partition order, so the outcome never depends on which partition finished first
+        int angryLeavesThisFrame = 0;
+        for (PartitionUpdate part : parts) {
+            angryLeavesThisFrame += part.angryLeaves;
+            for (int i = 0; i < part.departed.size(); i++) {
+                customerPool.release(part.departed.get(i));
+            }
+            part.departed.clear();
+        }
+        if (angryLeavesThisFrame > 0) {
+            // Lose a life per angry customer
+            playerLives -= angryLeavesThisFrame;
+            if (DinerLog.isLoggable(DinerLog.INFO)) {
+                DinerLog.i(TAG, angryLeavesThisFrame + " customer(s) left angry. Lives remaining: " + playerLives);
+            }
+        }
+
+
+        if (!isGameOver && playerLives <= 0) {
+            DinerLog.i(TAG, "GAME OVER - Player lives reached 0!");
+            isGameOver = true;
+            if (DinerLog.isLoggable(DinerLog.INFO)) {
+                DinerLog.i(TAG, "Customer pool stats: " + customerPool);
+            }
+        }
+
+        // New customers due by now, then anyone the waiting area has room for
+        if (!isGameOver && arrivalsEnabled) {
+            generateArrivals();
+        }
+        if (!customerArrivalQueue.isEmpty()) {
+            processCustomerArrivals();
+        }
+
+        return angryLeavesThisFrame;
+    }
+
+    /**
+     * Whether update() brings in new customers on its own. On by default;
+     * tests of the other rules turn it off and add customers by hand.
+     */
+    public void setArrivalsEnabled(boolean enabled) {
+        arrivalsEnabled = enabled;
+    }
+
+    // Customers who have come to the diner so far, including those turned away
+    public int getArrivalCount() { return arrivals; }
+
+    // Arrivals that found the arrival queue full and left at once
+    public int getTurnedAwayCount() { return turnedAway; }
+
+    // Simulation time, in nanoseconds since the game started, at which the next customer arrives
+    public long getNextArrivalNanos() { return nextArrivalNanos; }
+
+    // Brings in every customer due by the current simulation time; each gap uses the score at the previous arrival
+    private void generateArrivals() {
+        long now = customerStore.getTimeNanos();
+        while (now >= nextArrivalNanos) {
+            Customer.CustomerType type = Customer.randomType(random.types());
+            Customer customer = customerPool.obtain(type, balance.getCustomerConfig(type));
+            arrivals++;
+            if (!customerArrivalQueue.offer(customer)) {
+                turnedAway++;
+                if (DinerLog.isLoggable(DinerLog.WARN)) {
+                    DinerLog.w(TAG, "Arrival queue is full! Customer " + customer.getDisplayId() + " was turned away.");
+                }
+                customerPool.release(customer);
+            }
+            nextArrivalNanos += arrivalDelayNanos();
+        }
+    }
+
+    // At least 1 ms, so a balance whose gaps reach 0 cannot spin generateArrivals forever
+    private long arrivalDelayNanos() {
+        return Math.max(1, balance.nextArrivalDelayMs(score, random.arrivals())) * 1_000_000L;
+    }
+
+    /**
+     * Handles the customers of one store whose phase finished or whose
+     * patience ran out on its last tick. Touches only that store, its
+     * partition's tables and, for partition 0, the waiting list, so
+     * partitions can run concurrently. Returns how many left angry; they
+     * are added to departed for the caller to recycle.
+     */
+    private int handleDueCustomers(CustomerStore store, List<Customer> departed) {
+        int angryLeaves = 0;
+
+        // Only customers that crossed a threshold this tick need individual handling
+        int eventCount = store.getEventCount();
+        for (int e = 0; e < eventCount; e++) {
+            int slot = store.getEventSlot(e);
+            Customer customer = store.getHandle(slot);
+            if (customer == null) {
+                continue;
+            }
+
+            //  Handle State-Specific Timers
+            if (store.isPhaseFinished(slot)) {
+                switch (customer.getState()) {
+                    case SEATED_IDLE:
+                        customer.setState(Customer.CustomerState.WAITING_ORDER_CONFIRM);
+                        break;
+                    case WAITING_FOOD:
+                        customer.setState(Customer.CustomerState.FOOD_READY);
+                        break;
+                    case EATING:
+                        customer.setState(Customer.CustomerState.READY_TO_LEAVE);
+                        break;
+                }
+            }
+
+            //  Patience ran out (still checked after a timer transition, as the new state may drain too)
+            if (store.isPatienceExpired(slot)) {
+                int tableIndex = store.getTableIndex(slot);
+                customer.leaveAngry();
+
+                angryLeaves++;
+
+                if (tableIndex < 0) {
+                    waitingCustomers.remove(customer);
+                    if (DinerLog.isLoggable(DinerLog.INFO)) {
+                        DinerLog.i(TAG, customer.getDisplayId() + " left angry from waiting.");
+                    }
+                    if (DinerLog.isLoggable(DinerLog.INFO)) {
+                        DinerLog.i(TAG, customer.getDisplayId() + " removed from waiting queue (patience ran out). Size: " + waitingCustomers.size());
+                    }
+                } else {
+                    Table table = tables.get(tableIndex);
+                    table.vacate();
+                    if (DinerLog.isLoggable(DinerLog.INFO)) {
+                        DinerLog.i(TAG, customer.getDisplayId() + " left angry from table " + table.id + ".");
+                    }
+                }
+                customer.detach();
+                departed.add(customer);
+            }
+        }
+        return angryLeaves;
+    }
+
+    // One partition's share of a tick. Runs inline for a single partition, or as a task on updatePool.
+    @SuppressWarnings("serial") // Never serialized; RecursiveAction is Serializable only by inheritance
+    private final class PartitionUpdate extends RecursiveAction {
+        final CustomerStore store;
+        final List<Customer> departed = new ArrayList<>();
+        float dt;
+        int angryLeaves;
+
+        PartitionUpdate(CustomerStore store) {
+            this.store = store;
+        }
+
+        @Override
+        protected void compute() {
+            run();
+        }
+
+        void run() {
+            store.tick(dt);
+            angryLeaves = handleDueCustomers(store, departed);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class ParallelUpdate extends RecursiveAction {
+        @Override
+        protected void compute() {
+            invokeAll(partitions);
+        }
+    }
+
+    public void processCustomerArrivals() {
+        // Move queued arrivals to the waiting list, as far as there is room
+        int firstNew = waitingCustomers.size();
+        int room = waitingCapacity - firstNew;
+        if (room <= 0) {
+            return;
+        }
+        int count = customerArrivalQueue.drainTo(waitingCustomers, room);
+        for (int i = firstNew; i < waitingCustomers.size(); i++) {
+            waitingCustomers.get(i).attach(customerStore, PATIENCE_DECREASE_RATE);
+        }
+        if (count > 0) {
+            if (DinerLog.isDebugEnabled()) {
+                DinerLog.d(TAG, "Moved " + count + " customers to waiting list. Total waiting: " + waitingCustomers.size());
+            }
+        }
+    }
+
+    public boolean trySeatCustomerByDrag(Customer customerToSeat, Table targetTable) {
+        if (customerToSeat == null || targetTable == null) {
+            if (DinerLog.isLoggable(DinerLog.WARN)) {
+                DinerLog.w(TAG, "SEATING FAILED (Drag): Null customer or table provided.");
+            }
+            return false;
+        }
+
+        // Check if the customer is actually in the waiting list
+        if (!waitingCustomers.contains(customerToSeat)) {
+            if (DinerLog.isLoggable(DinerLog.ERROR)) {
+                DinerLog.e(TAG, "SEATING FAILED (Drag): Customer " + customerToSeat.getDisplayId() + " not found in waiting list!");
+            }
+            return false;
+        }
+
+        // Check if the target table is free
+        if (targetTable.isOccupied()) {
+            if (DinerLog.isLoggable(DinerLog.WARN)) {
+                DinerLog.w(TAG, "SEATING FAILED (Drag): Table " + targetTable.id + " is already occupied.");
+            }
+            return false;
+        }
+
+        // Remove customer from waiting list
+        boolean removed = waitingCustomers.remove(customerToSeat);
+        if (!removed) {
+            if (DinerLog.isLoggable(DinerLog.ERROR)) {
+                DinerLog.e(TAG, "SEATING FAILED (Drag): Failed to remove customer " + customerToSeat.getDisplayId() + " from waiting list after check!");
+            }
+            return false;
+        }
+        if (DinerLog.isDebugEnabled()) {
+            DinerLog.d(TAG, "Removed " + customerToSeat.getDisplayId() + " from waiting list (size=" + waitingCustomers.size() + ")");
+        }
+
+        // Occupy the table
+        targetTable.occupy(customerToSeat);
+        customerToSeat.assignTable(targetTable.id);
+        customerToSeat.moveTo(storeForTable(targetTable.id), PATIENCE_DECREASE_RATE);
+
+        // Set customer state
+        customerToSeat.setState(Customer.CustomerState.SEATED_IDLE);
+
+        if (DinerLog.isLoggable(DinerLog.INFO)) {
+            DinerLog.i(TAG, "SEATING SUCCESS (Drag): Seated " + customerToSeat.getDisplayId() + " at table " + targetTable.id + ". State: " + customerToSeat.getState());
+        }
+        return true;
+    }
+
+
+    public void confirmCustomerOrder(Customer customer) {
+        if (customer != null && customer.getState() == Customer.CustomerState.WAITING_ORDER_CONFIRM) {
+            customer.setState(Customer.CustomerState.WAITING_FOOD);
+            customer.startCookingTimer(balance.getCookDurationSeconds());
+
+            if (DinerLog.isDebugEnabled()) {
+                DinerLog.d(TAG, "Order confirmed for " + customer.getDisplayId() + ". State set to " + customer.getState() + ". Cooking started.");
+            }
+        } else if (DinerLog.isLoggable(DinerLog.WARN)) {
+            DinerLog.w(TAG, "Attempted to confirm order for customer not in correct state: " + (customer != null ? customer.getDisplayId() + " state=" + customer.getState() : "null customer"));
+        }
+    }
+
+    public boolean deliverFood(Customer customerWhoseFood, Table targetTable) {
+        if (customerWhoseFood == null || targetTable == null) {
+            if (DinerLog.isLoggable(DinerLog.WARN)) {
+                DinerLog.w(TAG, "DELIVERY FAILED: Null customer or table provided.");
+            }
+            return false;
+        }
+
+        // Check if table is empty
+        if (!targetTable.isOccupied()) {
+            if (DinerLog.isLoggable(DinerLog.WARN)) {
+                DinerLog.w(TAG, "DELIVERY FAILED: Target table " + targetTable.id + " is not occupied (for customer " + customerWhoseFood.getDisplayId() + ").");
+            }
+            return false;
+        }
+
+        // Check food matches customer
+        Customer seatedCustomer = targetTable.getSeatedCustomer();
+        if (seatedCustomer != customerWhoseFood) {
+            if (DinerLog.isLoggable(DinerLog.WARN)) {
+                DinerLog.w(TAG, "DELIVERY FAILED: Food for " + customerWhoseFood.getDisplayId()
+                        + " dropped on table " + targetTable.id + " occupied by "
+                        + (seatedCustomer != null ? seatedCustomer.getDisplayId() : "null") + ".");
+            }
+            return false;
+        }
+
+        // Check if customer is waiting for food
+        if (seatedCustomer.getState() != Customer.CustomerState.FOOD_READY) {
+            if (DinerLog.isLoggable(DinerLog.WARN)) {
+                DinerLog.w(TAG, "DELIVERY FAILED: Customer " + seatedCustomer.getDisplayId()
+                        + " at table " + targetTable.id + " is in state " + seatedCustomer.getState()
+                        + ", not FOOD_READY.");
+            }
+            return false;
+        }
+
+        // Change customer state to EATING
+        seatedCustomer.setState(Customer.CustomerState.EATING);
+        if (DinerLog.isLoggable(DinerLog.INFO)) {
+            DinerLog.i(TAG, "DELIVERY SUCCESS: Food delivered to " + seatedCustomer.getDisplayId()
+                    + " at table " + targetTable.id + ". State set to EATING.");
+        }
+
+        seatedCustomer.startEatingTimer();
+
+
+        return true;
+    }
+
+
+    public void clearTableForCustomer(Customer customerToClear) {
+        if (customerToClear == null) {
+            if (DinerLog.isLoggable(DinerLog.WARN)) {
+                DinerLog.w(TAG, "clearTableForCustomer called with null customer.");
+            }
+            return;
+        }
+
+        // Ensure customer is actually ready to leave before clearing
+        if (customerToClear.getState() != Customer.CustomerState.READY_TO_LEAVE) {
+            if (DinerLog.isLoggable(DinerLog.WARN)) {
+                DinerLog.w(TAG, "Attempted to clear table for customer " + customerToClear.getDisplayId()
+                        + " who is in state " + customerToClear.getState() + ", not READY_TO_LEAVE.");
+            }
+            return;
+        }
+
+        // The store knows which table the customer sits at, so no table scan is needed
+        int tableIndex = customerToClear.getTableIndex();
+        Table table = tableIndex >= 0 && tableIndex < tables.size() ? tables.get(tableIndex) : null;
+        if (table == null || table.getSeatedCustomer() != customerToClear) {
+            if (DinerLog.isLoggable(DinerLog.WARN)) {
+                DinerLog.w(TAG, "Could not find occupied table for customer " + customerToClear.getDisplayId() + " to clear.");
+            }
+            return;
+        }
+
+        if (DinerLog.isLoggable(DinerLog.INFO)) {
+            DinerLog.i(TAG, "Clearing table " + table.id + " for customer " + customerToClear.getDisplayId());
+        }
+
+        // Score
+        int pointsAwarded = customerToClear.getScoreValue();
+        this.score += pointsAwarded;
+        customersServed++;
+        if (DinerLog.isLoggable(DinerLog.INFO)) {
+            DinerLog.i(TAG, "Awarded " + pointsAwarded + " points. Total score: " + this.score);
+        }
+
+        // Make the table available again
+        table.vacate();
+        customerToClear.detach();
+        customerPool.release(customerToClear);
+
+        checkLevelUp();
+    }
+
+    private void checkLevelUp() {
+        if (score >= scoreForNextLevel) {
+            currentLevel++;
+            scoreForNextLevel += balance.getScorePerLevel(); // Set threshold for the next level
+
+            // Gain a life, respecting the maximum
+            playerLives++;
+            if (playerLives > MAX_LIVES) {
+                playerLives = MAX_LIVES;
+            }
+
+            if (DinerLog.isLoggable(DinerLog.INFO)) {
+                DinerLog.i(TAG, "LEVEL UP! Reached Level " + currentLevel + ". Lives: " + playerLives + "/" + MAX_LIVES + ". Next level at " + scoreForNextLevel + " points.");
+            }
+        }
+    }
+}
\ No newline at end of file
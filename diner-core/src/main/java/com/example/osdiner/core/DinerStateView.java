@@ -0,0 +1,71 @@
+package com.example.osdiner.core;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Read-only window onto a live DinerState for a PlayerPolicy. It names
+ * customers by id and tables by index, with the same accessors as
+ * RenderSnapshot, so a policy can look but has nothing it could mutate;
+ * it acts only through PlayerActions.
+ *
+ * Nothing is copied: every call reads the current state, so the view is
+ * only meaningful on the game thread between ticks, while the policy
+ * decides.
+ */
+public final class DinerStateView {
+
+    public static final int NO_CUSTOMER = RenderSnapshot.NO_CUSTOMER;
+
+    private final DinerState state;
+
+    public DinerStateView(DinerState state) {
+        this.state = state;
+    }
+
+    // Simulated time since the game started
+    public double getTimeSeconds() {
+        return state.getCustomerStore().getTimeNanos() / 1_000_000_000.0;
+    }
+
+    public int getScore() { return state.getScore(); }
+    public int getLives() { return state.getPlayerLives(); }
+    public int getLevel() { return state.getCurrentLevel(); }
+    public boolean isGameOver() { return state.isGameOver(); }
+    public GameBalance getBalance() { return state.getBalance(); }
+
+    // The session's policy stream, for policies that randomize; seeded with the game, so replays match
+    public SplittableRandom getRandom() { return state.getRandom().policy(); }
+
+    // Waiting customers, in arrival order
+    public int getWaitingCount() { return state.getWaitingCustomers().size(); }
+    public int getWaitingId(int index) { return waiting(index).getId(); }
+    public Customer.CustomerType getWaitingType(int index) { return waiting(index).getType(); }
+    public int getWaitingScoreValue(int index) { return waiting(index).getScoreValue(); }
+
+    // Patience left as a fraction of the customer's initial patience (0..1)
+    public float getWaitingPatience(int index) { return waiting(index).getPatiencePercentage(); }
+
+    public int getTableCount() { return state.getTables().size(); }
+    public boolean isTableOccupied(int table) { return state.getTables().get(table).isOccupied(); }
+
+    public int getSeatedId(int table) {
+        Customer seated = seated(table);
+        return seated != null ? seated.getId() : NO_CUSTOMER;
+    }
+
+    // The accessors below require an occupied table
+    public Customer.CustomerType getSeatedType(int table) { return seated(table).getType(); }
+    public Customer.CustomerState getSeatedState(int table) { return seated(table).getState(); }
+    public int getSeatedScoreValue(int table) { return seated(table).getScoreValue(); }
+    public float getSeatedPatience(int table) { return seated(table).getPatiencePercentage(); }
+
+    private Customer waiting(int index) {
+        return state.getWaitingCustomers().get(index);
+    }
+
+    private Customer seated(int table) {
+        List<Table> tables = state.getTables();
+        return tables.get(table).getSeatedCustomer();
+    }
+}
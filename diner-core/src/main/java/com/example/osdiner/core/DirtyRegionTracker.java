@@ -0,0 +1,126 @@
+package com.example.osdiner.core;
+
+import java.util.Arrays;
+
+/**
+ * Works out which part of the screen changed between two frames.
+ *
+ * The renderer gives every independently drawn element a fixed slot and,
+ * each frame, reports the element's bounds plus a key summarising what it
+ * will look like (customer id, state, patience bar length, ...). A slot is
+ * dirty when its key or bounds differ from the previous frame, or when it is
+ * not reported at all any more; the dirty region is the union of the old and
+ * new bounds of all dirty slots.
+ *
+ * Single-threaded; owned by the render thread.
+ */
+public class DirtyRegionTracker {
+
+    private long[] keys;
+    private float[] bounds;     // left, top, right, bottom per slot
+    private boolean[] present;  // Drawn on the previous frame
+    private boolean[] seen;     // Reported on the current frame
+
+    private boolean fullRepaint = true;
+    private boolean dirty;
+    private float dirtyLeft;
+    private float dirtyTop;
+    private float dirtyRight;
+    private float dirtyBottom;
+
+    public DirtyRegionTracker(int slots) {
+        keys = new long[slots];
+        bounds = new float[slots * 4];
+        present = new boolean[slots];
+        seen = new boolean[slots];
+    }
+
+    private void ensureCapacity(int slots) {
+        if (slots <= keys.length) {
+            return;
+        }
+        int capacity = Math.max(slots, keys.length * 2);
+        keys = Arrays.copyOf(keys, capacity);
+        bounds = Arrays.copyOf(bounds, capacity * 4);
+        present = Arrays.copyOf(present, capacity);
+        seen = Arrays.copyOf(seen, capacity);
+    }
+
+    // Forces the next frame to repaint everything, e.g. after a layout change
+    public void invalidateAll() {
+        fullRepaint = true;
+    }
+
+    public void beginFrame() {
+        dirty = false;
+        Arrays.fill(seen, false);
+    }
+
+    public void report(int slot, long key, float left, float top, float right, float bottom) {
+        ensureCapacity(slot + 1);
+        seen[slot] = true;
+        int b = slot * 4;
+        if (present[slot] && keys[slot] == key
+                && bounds[b] == left && bounds[b + 1] == top
+                && bounds[b + 2] == right && bounds[b + 3] == bottom) {
+            return;
+        }
+        if (present[slot]) {
+            addDirty(bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3]);
+        }
+        addDirty(left, top, right, bottom);
+        present[slot] = true;
+        keys[slot] = key;
+        bounds[b] = left;
+        bounds[b + 1] = top;
+        bounds[b + 2] = right;
+        bounds[b + 3] = bottom;
+    }
+
+    // Slots drawn last frame but not reported this frame leave a hole to repaint
+    public void endFrame() {
+        for (int slot = 0; slot < present.length; slot++) {
+            if (present[slot] && !seen[slot]) {
+                int b = slot * 4;
+                addDirty(bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3]);
+                present[slot] = false;
+            }
+        }
+    }
+
+    private void addDirty(float left, float top, float right, float bottom) {
+        if (!dirty) {
+            dirty = true;
+            dirtyLeft = left;
+            dirtyTop = top;
+            dirtyRight = right;
+            dirtyBottom = bottom;
+        } else {
+            dirtyLeft = Math.min(dirtyLeft, left);
+            dirtyTop = Math.min(dirtyTop, top);
+            dirtyRight = Math.max(dirtyRight, right);
+            dirtyBottom = Math.max(dirtyBottom, bottom);
+        }
+    }
+
+    /**
+     * True when the frame should repaint the whole surface: after
+     * invalidateAll(), or when the dirty region covers more than
+     * maxFraction of a surface of the given size. Clears the invalidation.
+     */
+    public boolean takeFullRepaint(float width, float height, float maxFraction) {
+        boolean full = fullRepaint;
+        fullRepaint = false;
+        if (!full && dirty) {
+            float area = (dirtyRight - dirtyLeft) * (dirtyBottom - dirtyTop);
+            full = area > width * height * maxFraction;
+        }
+        return full;
+    }
+
+    public boolean isDirty() { return dirty; }
+    public float getDirtyLeft() { return dirtyLeft; }
+    public float getDirtyTop() { return dirtyTop; }
+    public float getDirtyRight() { return dirtyRight; }
+    public float getDirtyBottom() { return dirtyBottom; }
+}
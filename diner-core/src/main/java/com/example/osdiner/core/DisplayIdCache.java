@@ -0,0 +1,41 @@
+package com.example.osdiner.core;
+
+import java.util.Arrays;
+
+/**
+ * Direct-mapped cache of customer display ids ("C12", "VIP7", ...), so the
+ * renderer can label every visible customer each frame without building new
+ * Strings. Live customer ids are close together, so a table a little larger
+ * than the number of customers on screen almost never collides.
+ *
+ * Single-threaded; owned by the render thread.
+ */
+public class DisplayIdCache {
+
+    private static final long EMPTY = -1L;
+
+    private final long[] keys;
+    private final String[] labels;
+    private final int mask;
+
+    // capacity must be a power of two
+    public DisplayIdCache(int capacity) {
+        if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        keys = new long[capacity];
+        labels = new String[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public String get(Customer.CustomerType type, int id) {
+        long key = ((long) type.ordinal() << 32) | (id & 0xFFFFFFFFL);
+        int index = id & mask;
+        if (keys[index] != key) {
+            keys[index] = key;
+            labels[index] = Customer.displayId(type, id);
+        }
+        return labels[index];
+    }
+}
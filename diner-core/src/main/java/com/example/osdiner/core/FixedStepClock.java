@@ -0,0 +1,53 @@
+package com.example.osdiner.core;
+
+/**
+ * Accumulator that turns variable frame times into a whole number of fixed
+ * simulation ticks, plus the leftover fraction used to interpolate drawing.
+ */
+public class FixedStepClock {
+
+    private final long stepNs;
+    private final double stepSeconds;
+    private final int maxStepsPerAdvance;
+    private long accumulatorNs;
+
+    public FixedStepClock(int ticksPerSecond, int maxStepsPerAdvance) {
+        if (ticksPerSecond <= 0 || maxStepsPerAdvance <= 0) {
+            throw new IllegalArgumentException("ticksPerSecond and maxStepsPerAdvance must be positive");
+        }
+        this.stepNs = 1_000_000_000L / ticksPerSecond;
+        this.stepSeconds = stepNs / 1_000_000_000.0;
+        this.maxStepsPerAdvance = maxStepsPerAdvance;
+    }
+
+    // Adds elapsed wall time and returns how many ticks are now due
+    public int advance(long elapsedNs) {
+        if (elapsedNs > 0) {
+            accumulatorNs += elapsedNs;
+        }
+        long due = accumulatorNs / stepNs;
+        if (due > maxStepsPerAdvance) {
+            // Too far behind (debugger, long GC): drop the backlog instead of spiralling
+            accumulatorNs %= stepNs;
+            return maxStepsPerAdvance;
+        }
+        accumulatorNs -= due * stepNs;
+        return (int) due;
+    }
+
+    public double getStepSeconds() { return stepSeconds; }
+    public long getStepNs() { return stepNs; }
+
+    // Fraction of a tick (0..1) between the last simulated state and the next one
+    public float getAlpha() {
+        // Rounding to float can reach 1 just short of a tick; the next state is not due yet
+        return Math.min((float) ((double) accumulatorNs / stepNs), Math.nextDown(1f));
+    }
+
+    // Wall time already accumulated towards the next tick
+    public long getAccumulatedNs() { return accumulatorNs; }
+
+    public void reset() {
+        accumulatorNs = 0;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.osdiner.core;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Decides which display vsyncs get a rendered frame.
+ *
+ * The renderer calls onVsync() with every vsync timestamp it receives and
+ * draws only when it returns true. Frames are spread evenly over vsyncs: a
+ * 30 fps target on a 120 Hz panel draws every fourth vsync, while a target of
+ * 0 (or one at or above the refresh rate) draws on every vsync. Low-power
+ * mode caps the target at LOW_POWER_FPS.
+ *
+ * The vsync period comes from the display's reported refresh rate when
+ * known, and is otherwise estimated from the timestamps themselves. A
+ * callback arriving more than one period after the previous one means
+ * vsyncs went by without the renderer getting to them; those are counted as
+ * missed.
+ *
+ * onVsync() and the getters belong to the render thread; the setters may be
+ * called from any thread and take effect on the next vsync.
+ */
+public class FramePacer {
+
+    public static final int MATCH_DISPLAY = 0;
+    public static final int LOW_POWER_FPS = 30;
+
+    private static final long DEFAULT_PERIOD_NS = 1_000_000_000L / 60;
+
+    private volatile int targetFps = MATCH_DISPLAY;
+    private volatile boolean lowPower;
+    private volatile long displayPeriodNs; // 0 when the display rate is unknown
+
+    private long estimatedPeriodNs;
+    private long lastVsyncNs = -1;
+    private long lastRenderNs = -1;
+    private long renderedFrames;
+    private long skippedVsyncs;
+    private long missedVsyncs;
+
+    public void setTargetFps(int fps) {
+        targetFps = Math.max(MATCH_DISPLAY, fps);
+    }
+
+    public int getTargetFps() { return targetFps; }
+
+    public void setLowPower(boolean enabled) {
+        lowPower = enabled;
+    }
+
+    public boolean isLowPower() { return lowPower; }
+
+    // Refresh rate reported by the display; 0 or less falls back to estimating it
+    public void setDisplayRefreshRate(float hz) {
+        displayPeriodNs = hz > 0f ? Math.round(1_000_000_000.0 / hz) : 0L;
+    }
+
+    /**
+     * Forget the previous vsync, e.g. after rendering was paused, so the gap
+     * is neither counted as missed vsyncs nor fed into the period estimate.
+     */
+    public void reset() {
+        lastVsyncNs = -1;
+        lastRenderNs = -1;
+    }
+
+    // Returns true if a frame should be rendered for the vsync at frameTimeNs
+    public boolean onVsync(long frameTimeNs) {
+        long period = getVsyncPeriodNs();
+        if (lastVsyncNs >= 0) {
+            long sinceLast = frameTimeNs - lastVsyncNs;
+            long vsyncs = Math.max(1L, Math.round((double) sinceLast / period));
+            missedVsyncs += vsyncs - 1;
+            if (displayPeriodNs == 0) {
+                long sample = sinceLast / vsyncs;
+                estimatedPeriodNs = estimatedPeriodNs == 0 ? sample : estimatedPeriodNs + (sample - estimatedPeriodNs) / 8;
+                period = estimatedPeriodNs;
+            }
+        }
+        lastVsyncNs = frameTimeNs;
+
+        int interval = vsyncsPerFrame(period);
+        if (lastRenderNs >= 0 && interval > 1) {
+            // Half a period of slack so timestamp jitter never pushes a frame to the following vsync
+            if (frameTimeNs - lastRenderNs < interval * period - period / 2) {
+                skippedVsyncs++;
+                return false;
+            }
+        }
+        lastRenderNs = frameTimeNs;
+        renderedFrames++;
+        return true;
+    }
+
+    private int vsyncsPerFrame(long period) {
+        int fps = targetFps;
+        if (lowPower) {
+            fps = fps == MATCH_DISPLAY ? LOW_POWER_FPS : Math.min(fps, LOW_POWER_FPS);
+        }
+        if (fps == MATCH_DISPLAY) {
+            return 1;
+        }
+        double refreshHz = 1_000_000_000.0 / period;
+        return Math.max(1, (int) Math.round(refreshHz / fps));
+    }
+
+    public long getVsyncPeriodNs() {
+        long period = displayPeriodNs;
+        if (period > 0) {
+            return period;
+        }
+        return estimatedPeriodNs > 0 ? estimatedPeriodNs : DEFAULT_PERIOD_NS;
+    }
+
+    public float getRefreshRate() {
+        return (float) (1_000_000_000.0 / getVsyncPeriodNs());
+    }
+
+    public long getRenderedFrames() { return renderedFrames; }
+    public long getSkippedVsyncs() { return skippedVsyncs; }
+    public long getMissedVsyncs() { return missedVsyncs; }
+
+    public void writeReport(Writer out) throws IOException {
+        int fps = targetFps;
+        out.write(String.format(Locale.US, "vsync: %.1f Hz, target %s%s, rendered %d, skipped %d, missed %d%n",
+                getRefreshRate(), fps == MATCH_DISPLAY ? "display" : fps + " fps",
+                lowPower ? " (low power)" : "", renderedFrames, skippedVsyncs, missedVsyncs));
+    }
+}
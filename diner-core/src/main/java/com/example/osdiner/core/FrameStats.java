@@ -0,0 +1,88 @@
+package com.example.osdiner.core;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Per-phase frame timing: one wall-clock and one CPU-time LatencyHistogram
+ * for each phase of the game and render loops. Each loop thread owns its
+ * own FrameStats and records only the phases it runs.
+ *
+ * CPU time is whatever per-thread clock the caller measures with; pass a
+ * negative value when it is not available and only wall time is kept.
+ */
+public class FrameStats {
+
+    public static final int SIMULATION_UPDATE = 0;  // DinerState.update ticks
+    public static final int SNAPSHOT_PUBLISH = 1;   // RenderSnapshot capture and publish
+    public static final int VIEW_UPDATE = 2;        // DinerView.update
+    public static final int LOCK_CANVAS = 3;
+    public static final int DRAW = 4;               // DinerView.drawGame
+    public static final int UNLOCK_AND_POST = 5;
+    public static final int OVERSLEEP = 6;          // Actual sleep minus requested sleep
+    public static final int PHASE_COUNT = 7;
+
+    private static final String[] PHASE_NAMES = {
+            "simulation update", "snapshot publish", "view update",
+            "lockCanvas", "drawGame", "unlockCanvasAndPost", "oversleep"
+    };
+
+    private final String name;
+    private final LatencyHistogram[] wall = new LatencyHistogram[PHASE_COUNT];
+    private final LatencyHistogram[] cpu = new LatencyHistogram[PHASE_COUNT];
+
+    public FrameStats(String name) {
+        this.name = name;
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            wall[phase] = new LatencyHistogram();
+            cpu[phase] = new LatencyHistogram();
+        }
+    }
+
+    public String getName() { return name; }
+
+    public static String phaseName(int phase) { return PHASE_NAMES[phase]; }
+
+    public void record(int phase, long wallNs, long cpuNs) {
+        wall[phase].record(wallNs);
+        if (cpuNs >= 0) {
+            cpu[phase].record(cpuNs);
+        }
+    }
+
+    public LatencyHistogram getWallTime(int phase) { return wall[phase]; }
+    public LatencyHistogram getCpuTime(int phase) { return cpu[phase]; }
+
+    public void reset() {
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            wall[phase].reset();
+            cpu[phase].reset();
+        }
+    }
+
+    // Plain-text table of the phases that have samples, times in microseconds
+    public void writeReport(Writer out) throws IOException {
+        out.write(name + "\n");
+        out.write(String.format(Locale.US, "%-22s %-5s %8s %9s %9s %9s %9s%n",
+                "phase", "clock", "count", "p50", "p90", "p99", "max"));
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            if (wall[phase].getCount() == 0) {
+                continue;
+            }
+            writeRow(out, PHASE_NAMES[phase], "wall", wall[phase]);
+            if (cpu[phase].getCount() > 0) {
+                writeRow(out, "", "cpu", cpu[phase]);
+            }
+        }
+    }
+
+    private static void writeRow(Writer out, String phase, String clock, LatencyHistogram histogram) throws IOException {
+        out.write(String.format(Locale.US, "%-22s %-5s %8d %9.1f %9.1f %9.1f %9.1f%n",
+                phase, clock, histogram.getCount(),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMax() / 1000.0));
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.osdiner.core;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * The tunable numbers of one game: customer types, cook time, level
+ * threshold and the arrival rate curve. DEFAULT holds the values the app
+ * plays with; the with* methods return adjusted copies, so a balance
+ * sweep can try variations without touching shared state.
+ *
+ * Immutable, so one instance can be shared by any number of games.
+ */
+public final class GameBalance {
+
+    public static final GameBalance DEFAULT = new GameBalance();
+
+    private final Map<Customer.CustomerType, Customer.CustomerConfig> customers;
+    private final float cookDurationSeconds;
+    private final int scorePerLevel;
+
+    // Arrival gaps shrink by arrivalStepReductionMs for every arrivalScoreStep points, down to a floor
+    private final int arrivalMinDelayMs;
+    private final int arrivalMaxDelayMs;
+    private final int arrivalScoreStep;
+    private final int arrivalStepReductionMs;
+    private final int arrivalFloorMs;
+
+    private GameBalance() {
+        customers = new EnumMap<>(Customer.CustomerType.class);
+        for (Customer.CustomerType type : Customer.CustomerType.values()) {
+            customers.put(type, Customer.getConfig(type));
+        }
+        cookDurationSeconds = 8.0f;
+        scorePerLevel = 500;
+        arrivalMinDelayMs = 2500;
+        arrivalMaxDelayMs = 8000;
+        arrivalScoreStep = 150;
+        arrivalStepReductionMs = 300;
+        arrivalFloorMs = 1500;
+    }
+
+    private GameBalance(Map<Customer.CustomerType, Customer.CustomerConfig> customers, float cookDurationSeconds,
+                        int scorePerLevel, int arrivalMinDelayMs, int arrivalMaxDelayMs,
+                        int arrivalScoreStep, int arrivalStepReductionMs, int arrivalFloorMs) {
+        // Gaps must stay positive: a zero longest gap would bring infinitely many customers at once
+        if (cookDurationSeconds < 0f || scorePerLevel <= 0 || arrivalMinDelayMs < 0
+                || arrivalMaxDelayMs < Math.max(1, arrivalMinDelayMs) || arrivalScoreStep <= 0
+                || arrivalStepReductionMs < 0 || arrivalFloorMs < 1) {
+            throw new IllegalArgumentException("Invalid balance values");
+        }
+        this.customers = customers;
+        this.cookDurationSeconds = cookDurationSeconds;
+        this.scorePerLevel = scorePerLevel;
+        this.arrivalMinDelayMs = arrivalMinDelayMs;
+        this.arrivalMaxDelayMs = arrivalMaxDelayMs;
+        this.arrivalScoreStep = arrivalScoreStep;
+        this.arrivalStepReductionMs = arrivalStepReductionMs;
+        this.arrivalFloorMs = arrivalFloorMs;
+    }
+
+    public Customer.CustomerConfig getCustomerConfig(Customer.CustomerType type) {
+        return customers.get(type);
+    }
+
+    public float getCookDurationSeconds() { return cookDurationSeconds; }
+    public int getScorePerLevel() { return scorePerLevel; }
+    public int getArrivalMinDelayMs() { return arrivalMinDelayMs; }
+    public int getArrivalMaxDelayMs() { return arrivalMaxDelayMs; }
+    public int getArrivalScoreStep() { return arrivalScoreStep; }
+    public int getArrivalStepReductionMs() { return arrivalStepReductionMs; }
+    public int getArrivalFloorMs() { return arrivalFloorMs; }
+
+    public GameBalance withCustomerConfig(Customer.CustomerType type, Customer.CustomerConfig config) {
+        Map<Customer.CustomerType, Customer.CustomerConfig> copy = new EnumMap<>(customers);
+        copy.put(type, config);
+        return new GameBalance(copy, cookDurationSeconds, scorePerLevel, arrivalMinDelayMs, arrivalMaxDelayMs,
+                arrivalScoreStep, arrivalStepReductionMs, arrivalFloorMs);
+    }
+
+    public GameBalance withCookDurationSeconds(float seconds) {
+        return new GameBalance(customers, seconds, scorePerLevel, arrivalMinDelayMs, arrivalMaxDelayMs,
+                arrivalScoreStep, arrivalStepReductionMs, arrivalFloorMs);
+    }
+
+    public GameBalance withScorePerLevel(int points) {
+        return new GameBalance(customers, cookDurationSeconds, points, arrivalMinDelayMs, arrivalMaxDelayMs,
+                arrivalScoreStep, arrivalStepReductionMs, arrivalFloorMs);
+    }
+
+    public GameBalance withArrivalDelays(int minMs, int maxMs) {
+        return new GameBalance(customers, cookDurationSeconds, scorePerLevel, minMs, maxMs,
+                arrivalScoreStep, arrivalStepReductionMs, arrivalFloorMs);
+    }
+
+    public GameBalance withArrivalSpeedUp(int scoreStep, int stepReductionMs, int floorMs) {
+        return new GameBalance(customers, cookDurationSeconds, scorePerLevel, arrivalMinDelayMs, arrivalMaxDelayMs,
+                scoreStep, stepReductionMs, floorMs);
+    }
+
+    // Longest gap before the next arrival at this score
+    public int maxArrivalDelayMs(int score) {
+        int reductionMs = (score / arrivalScoreStep) * arrivalStepReductionMs;
+        return Math.max(arrivalFloorMs, arrivalMaxDelayMs - reductionMs);
+    }
+
+    // Shortest gap before the next arrival at this score; keeps at least 500 ms between the two bounds
+    public int minArrivalDelayMs(int score) {
+        int maxMs = maxArrivalDelayMs(score);
+        int minMs = Math.min(arrivalMinDelayMs, maxMs - 500);
+        if (minMs >= maxMs) {
+            minMs = Math.max(500, maxMs - 500);
+        }
+        return Math.max(0, minMs);
+    }
+
+    // Gap before the next arrival, uniform over the range for this score
+    public int nextArrivalDelayMs(int score, SplittableRandom random) {
+        int minMs = minArrivalDelayMs(score);
+        int maxMs = maxArrivalDelayMs(score);
+        return random.nextInt(maxMs - minMs + 1) + minMs;
+    }
+}
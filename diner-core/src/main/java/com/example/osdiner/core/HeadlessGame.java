@@ -0,0 +1,171 @@
+package com.example.osdiner.core;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Drives one game start to finish on the calling thread, with no rendering
+ * and no sleeping: a PlayerPolicy stands in for the person and every timer
+ * runs on simulated time, so a game takes only as long as its ticks take
+ * to compute.
+ *
+ * Arrivals are part of the tick, exactly as in the app. Gaps, customer
+ * types and the policy's draws come from the game's SessionRandom, so a
+ * seed always replays the same game, however many games run alongside it.
+ *
+ * Before each tick the policy sees the diner through a DinerStateView, and
+ * the actions it picks are applied, in order, as the tick starts. With a
+ * reaction time the player gets one action per reaction time, which stands
+ * in for how fast a person can tap; with none, it may do everything it
+ * wants every tick, which shows the most the diner's rules can serve.
+ */
+public final class HeadlessGame {
+
+    public static final double DEFAULT_TICK_SECONDS = 1.0 / 60.0;
+    public static final double DEFAULT_REACTION_SECONDS = 0.5;
+    public static final double DEFAULT_TIME_LIMIT_SECONDS = 2 * 60 * 60;
+
+    /** Outcome of one game. */
+    public static final class Result {
+        public final long seed;
+        public final int score;
+        public final int level;
+        public final double survivalSeconds;
+        // Still alive when the time limit ran out
+        public final boolean timedOut;
+        public final int served;
+        public final int arrivals;
+        public final int droppedArrivals;
+
+        Result(long seed, int score, int level, double survivalSeconds, boolean timedOut,
+               int served, int arrivals, int droppedArrivals) {
+            this.seed = seed;
+            this.score = score;
+            this.level = level;
+            this.survivalSeconds = survivalSeconds;
+            this.timedOut = timedOut;
+            this.served = served;
+            this.arrivals = arrivals;
+            this.droppedArrivals = droppedArrivals;
+        }
+    }
+
+    private final GameBalance balance;
+    private final Bounds[] tableRects;
+    private final PlayerPolicy policy;
+    private final ActionBuffer actions = new ActionBuffer();
+    private int waitingCapacity = DinerState.UNLIMITED_WAITING;
+    private double tickSeconds = DEFAULT_TICK_SECONDS;
+    private double reactionSeconds = DEFAULT_REACTION_SECONDS;
+    private double timeLimitSeconds = DEFAULT_TIME_LIMIT_SECONDS;
+    private ForkJoinPool updatePool;
+    private int parallelMinTables = DinerState.DEFAULT_PARALLEL_MIN_TABLES;
+
+    public HeadlessGame(GameBalance balance, Bounds[] tableRects, PlayerPolicy policy) {
+        this.balance = balance;
+        this.tableRects = tableRects;
+        this.policy = policy;
+    }
+
+    public void setWaitingCapacity(int capacity) {
+        waitingCapacity = capacity;
+    }
+
+    public void setTickSeconds(double seconds) {
+        if (seconds <= 0) {
+            throw new IllegalArgumentException("tick must be positive");
+        }
+        tickSeconds = seconds;
+    }
+
+    // 0 lets the policy act without limit every tick
+    public void setReactionSeconds(double seconds) {
+        reactionSeconds = Math.max(0, seconds);
+    }
+
+    public void setTimeLimitSeconds(double seconds) {
+        timeLimitSeconds = seconds;
+    }
+
+    // Ticks diners of at least minTables tables in partitions on pool; null keeps every tick on the calling thread
+    public void setParallelUpdate(ForkJoinPool pool, int minTables) {
+        updatePool = pool;
+        parallelMinTables = minTables;
+    }
+
+    // Plays a whole game; may be called again, each call is an independent game
+    public Result play(long seed) {
+        DinerState state = new DinerState(balance, new SessionRandom(seed));
+        state.initializeTables(tableRects);
+        if (updatePool != null) {
+            state.setParallelUpdate(updatePool, parallelMinTables);
+        }
+        state.setWaitingCapacity(waitingCapacity);
+        DinerStateView view = new DinerStateView(state);
+
+        long tick = 0;
+        double now = 0;
+        double nextAction = 0;
+
+        while (!state.isGameOver() && now < timeLimitSeconds) {
+            if (now >= nextAction) {
+                actions.start(reactionSeconds > 0 ? 1 : Integer.MAX_VALUE);
+                policy.decide(view, actions);
+                if (actions.count > 0) {
+                    for (int i = 0; i < actions.count; i++) {
+                        state.applyCommand(actions.commands[i]);
+                    }
+                    nextAction = now + reactionSeconds;
+                }
+            }
+
+            state.update(tickSeconds);
+            now = ++tick * tickSeconds;
+        }
+        return new Result(seed, state.getScore(), state.getCurrentLevel(), now, !state.isGameOver(),
+                state.getCustomersServed(), state.getArrivalCount(), state.getTurnedAwayCount());
+    }
+
+    // Collects one decision's actions as encoded commands, up to the allowed number
+    private static final class ActionBuffer implements PlayerActions {
+        long[] commands = new long[16];
+        int count;
+        private int limit;
+
+        void start(int maxActions) {
+            count = 0;
+            limit = maxActions;
+        }
+
+        private boolean add(int type, int customerId, int table) {
+            if (count >= limit) {
+                return false;
+            }
+            if (count == commands.length) {
+                commands = Arrays.copyOf(commands, count * 2);
+            }
+            commands[count++] = CommandQueue.encode(type, customerId, table);
+            return count < limit;
+        }
+
+        @Override
+        public boolean seat(int customerId, int table) {
+            return add(CommandQueue.SEAT_CUSTOMER, customerId, table);
+        }
+
+        @Override
+        public boolean confirmOrder(int customerId) {
+            return add(CommandQueue.CONFIRM_ORDER, customerId, CommandQueue.NO_TABLE);
+        }
+
+        @Override
+        public boolean deliverFood(int customerId, int table) {
+            return add(CommandQueue.DELIVER_FOOD, customerId, table);
+        }
+
+        @Override
+        public boolean clearTable(int customerId) {
+            return add(CommandQueue.CLEAR_TABLE, customerId, CommandQueue.NO_TABLE);
+        }
+    }
+}
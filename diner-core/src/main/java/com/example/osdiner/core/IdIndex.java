@@ -0,0 +1,102 @@
+package com.example.osdiner.core;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from non-negative int ids to int values, with linear
+ * probing and backward-shift deletion, so it never boxes and never leaves
+ * tombstones behind. Grows when half full.
+ *
+ * Not thread-safe.
+ */
+final class IdIndex {
+
+    static final int MISSING = -1;
+
+    private int[] keys;   // -1 marks an empty bucket
+    private int[] values;
+    private int mask;
+    private int size;
+
+    IdIndex(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, -1);
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9; // Spreads consecutive ids across the table
+        return h ^ (h >>> 16);
+    }
+
+    int size() { return size; }
+
+    int get(int key) {
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                return values[i];
+            }
+            if (k < 0) {
+                return MISSING;
+            }
+        }
+    }
+
+    void put(int key, int value) {
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        int i = hash(key) & mask;
+        while (keys[i] >= 0 && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] < 0) {
+            size++;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    void remove(int key) {
+        int i = hash(key) & mask;
+        while (keys[i] != key) {
+            if (keys[i] < 0) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        size--;
+        // Shift later entries of the probe run back so lookups never stop early
+        int hole = i;
+        for (int j = (hole + 1) & mask; keys[j] >= 0; j = (j + 1) & mask) {
+            int home = hash(keys[j]) & mask;
+            // Move j into the hole unless its home lies cyclically in (hole, j]
+            boolean stays = hole <= j ? (home > hole && home <= j) : (home > hole || home <= j);
+            if (!stays) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = -1;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] >= 0) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
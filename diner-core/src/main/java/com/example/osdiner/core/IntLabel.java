@@ -0,0 +1,57 @@
+package com.example.osdiner.core;
+
+/**
+ * A fixed prefix followed by an int, e.g. "Score: 120", kept in a reusable
+ * char buffer. The digits are only rewritten when the value changes, and
+ * drawing from getChars() never creates a String, so HUD text costs nothing
+ * on frames where the number stayed the same and allocates nothing when it
+ * changes.
+ *
+ * Single-threaded; owned by the render thread.
+ */
+public class IntLabel {
+
+    private final char[] chars;
+    private final int prefixLength;
+    private int length;
+    private int value;
+    private boolean valid;
+
+    public IntLabel(String prefix) {
+        prefixLength = prefix.length();
+        chars = new char[prefixLength + 11]; // Sign and ten digits
+        prefix.getChars(0, prefixLength, chars, 0);
+    }
+
+    public void set(int newValue) {
+        if (valid && newValue == value) {
+            return;
+        }
+        value = newValue;
+        valid = true;
+
+        long remaining = Math.abs((long) newValue);
+        int digits = 1;
+        for (long r = remaining; r >= 10; r /= 10) {
+            digits++;
+        }
+        int pos = prefixLength;
+        if (newValue < 0) {
+            chars[pos++] = '-';
+        }
+        length = pos + digits;
+        for (int i = length - 1; i >= pos; i--) {
+            chars[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+    }
+
+    // Valid up to length(); reused by the next set()
+    public char[] getChars() { return chars; }
+    public int length() { return length; }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.osdiner.core;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-memory histogram of nanosecond durations with log-linear buckets:
+ * every power of two is split into 16 sub-buckets, so any reported
+ * percentile is within about 6% of the true value. Recording is a few
+ * integer operations and never allocates.
+ *
+ * Single writer. Other threads may read while it records, getting
+ * slightly stale but usable numbers.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values of 2^40 ns (about 18 minutes) and above share the last bucket
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long sum;
+    private long max;
+
+    public void record(long valueNs) {
+        long value = Math.max(0L, valueNs);
+        counts[bucketOf(value)]++;
+        totalCount++;
+        sum += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long lowestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return (1L << (shift + SUB_BUCKET_BITS)) | (sub << shift);
+    }
+
+    public long getCount() { return totalCount; }
+    public long getMax() { return max; }
+
+    public long getMean() {
+        return totalCount == 0 ? 0 : sum / totalCount;
+    }
+
+    // Upper edge of the bucket holding the given percentile (0..100), capped at the recorded max
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * totalCount);
+        rank = Math.max(1L, rank);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                long upper = bucket + 1 < BUCKET_COUNT ? lowestValueOf(bucket + 1) - 1 : max;
+                return Math.min(upper, max);
+            }
+        }
+        return max;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        totalCount = 0;
+        sum = 0;
+        max = 0;
+    }
+}
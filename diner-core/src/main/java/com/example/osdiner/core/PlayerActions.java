@@ -0,0 +1,23 @@
+package com.example.osdiner.core;
+
+/**
+ * What a PlayerPolicy can do: the four player actions, naming customers by
+ * id and tables by index. Actions take effect in the order given, at the
+ * start of the next tick, exactly like commands posted from touch input;
+ * one that no longer makes sense by then is ignored.
+ *
+ * Each call returns false once the driver's allowance for this decision is
+ * used up, for instance when it limits how fast the player can act. The
+ * call that used it up still counts; the policy should stop there, as any
+ * further action is dropped.
+ */
+public interface PlayerActions {
+
+    boolean seat(int customerId, int table);
+
+    boolean confirmOrder(int customerId);
+
+    boolean deliverFood(int customerId, int table);
+
+    boolean clearTable(int customerId);
+}
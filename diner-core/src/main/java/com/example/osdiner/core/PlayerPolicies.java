@@ -0,0 +1,153 @@
+package com.example.osdiner.core;
+
+/**
+ * Reference policies. None keeps state, so each instance can be shared by
+ * any number of games.
+ *
+ * All of them clear, serve and take orders at every table that needs it
+ * and fill every free table, differing only in what comes first; when the
+ * driver limits the player to one action at a time, that order is what
+ * sets them apart.
+ */
+public final class PlayerPolicies {
+
+    // Never acts; every customer eventually leaves angry
+    public static final PlayerPolicy IDLE = (view, actions) -> { };
+
+    // Works the tables in table order, then seats customers in the order they arrived
+    public static final PlayerPolicy FIFO = (view, actions) -> {
+        if (workTablesInOrder(view, actions)) {
+            seatInArrivalOrder(view, actions, false);
+        }
+    };
+
+    // Goes for points first: clears, then serves, then takes orders, then seats the most valuable customers
+    public static final PlayerPolicy GREEDY = (view, actions) -> {
+        if (workTables(view, actions, Customer.CustomerState.READY_TO_LEAVE)
+                && workTables(view, actions, Customer.CustomerState.FOOD_READY)
+                && workTables(view, actions, Customer.CustomerState.WAITING_ORDER_CONFIRM)) {
+            seatMostValuable(view, actions);
+        }
+    };
+
+    // Like FIFO, but VIPs are seated ahead of everyone else
+    public static final PlayerPolicy VIP_FIRST = (view, actions) -> {
+        if (workTablesInOrder(view, actions)) {
+            seatInArrivalOrder(view, actions, true);
+        }
+    };
+
+    private PlayerPolicies() {
+    }
+
+    // Policy for a name as given on the balance runner's command line, or null
+    public static PlayerPolicy byName(String name) {
+        switch (name) {
+            case "idle":
+                return IDLE;
+            case "fifo":
+                return FIFO;
+            case "greedy":
+                return GREEDY;
+            case "vipFirst":
+                return VIP_FIRST;
+            default:
+                return null;
+        }
+    }
+
+    // Each helper returns false once the driver stops accepting actions
+
+    private static boolean workTablesInOrder(DinerStateView view, PlayerActions actions) {
+        for (int table = 0; table < view.getTableCount(); table++) {
+            if (view.isTableOccupied(table) && !act(view, actions, table, view.getSeatedState(table))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean workTables(DinerStateView view, PlayerActions actions, Customer.CustomerState wanted) {
+        for (int table = 0; table < view.getTableCount(); table++) {
+            if (view.isTableOccupied(table) && view.getSeatedState(table) == wanted
+                    && !act(view, actions, table, wanted)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean act(DinerStateView view, PlayerActions actions, int table, Customer.CustomerState state) {
+        int customerId = view.getSeatedId(table);
+        switch (state) {
+            case READY_TO_LEAVE:
+                return actions.clearTable(customerId);
+            case FOOD_READY:
+                return actions.deliverFood(customerId, table);
+            case WAITING_ORDER_CONFIRM:
+                return actions.confirmOrder(customerId);
+            default:
+                return true;
+        }
+    }
+
+    // Seats waiting customers in arrival order at the free tables, lowest index first; VIPs go before the rest if vipsFirst
+    private static void seatInArrivalOrder(DinerStateView view, PlayerActions actions, boolean vipsFirst) {
+        int table = nextFreeTable(view, 0);
+        for (int pass = vipsFirst ? 0 : 1; pass < 2; pass++) {
+            for (int i = 0; i < view.getWaitingCount() && table >= 0; i++) {
+                boolean vip = view.getWaitingType(i) == Customer.CustomerType.VIP;
+                if (vipsFirst && vip != (pass == 0)) {
+                    continue;
+                }
+                if (!actions.seat(view.getWaitingId(i), table)) {
+                    return;
+                }
+                table = nextFreeTable(view, table + 1);
+            }
+        }
+    }
+
+    // Fills free tables with the highest-scoring customers, least patient first among equals
+    private static void seatMostValuable(DinerStateView view, PlayerActions actions) {
+        int table = nextFreeTable(view, 0);
+        int previous = -1;
+        while (table >= 0) {
+            int best = -1;
+            for (int i = 0; i < view.getWaitingCount(); i++) {
+                if ((previous < 0 || ranksAfter(view, i, previous)) && (best < 0 || ranksAfter(view, best, i))) {
+                    best = i;
+                }
+            }
+            if (best < 0 || !actions.seat(view.getWaitingId(best), table)) {
+                return;
+            }
+            previous = best;
+            table = nextFreeTable(view, table + 1);
+        }
+    }
+
+    // True if waiting customer a comes after b: lower score, then more patience, then later arrival
+    private static boolean ranksAfter(DinerStateView view, int a, int b) {
+        int scoreA = view.getWaitingScoreValue(a);
+        int scoreB = view.getWaitingScoreValue(b);
+        if (scoreA != scoreB) {
+            return scoreA < scoreB;
+        }
+        float patienceA = view.getWaitingPatience(a);
+        float patienceB = view.getWaitingPatience(b);
+        if (patienceA != patienceB) {
+            return patienceA > patienceB;
+        }
+        return a > b;
+    }
+
+    private static int nextFreeTable(DinerStateView view, int from) {
+        for (int table = from; table < view.getTableCount(); table++) {
+            if (!view.isTableOccupied(table)) {
+                return table;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.osdiner.core;
+
+/**
+ * A programmatic player. Before every tick the driver shows it a read-only
+ * view of the diner and it chooses actions, in priority order, through
+ * PlayerActions.
+ *
+ * Policies that keep no state of their own can be shared by games running
+ * in parallel; PlayerPolicies has reference ones.
+ */
+public interface PlayerPolicy {
+
+    void decide(DinerStateView view, PlayerActions actions);
+}
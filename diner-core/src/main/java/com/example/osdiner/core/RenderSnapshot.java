@@ -0,0 +1,169 @@
+package com.example.osdiner.core;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Everything the renderer needs from one simulation tick, copied into flat
+ * reusable arrays so the render thread never reads live DinerState.
+ *
+ * The game thread fills a snapshot with capture() and hands it over through a
+ * RenderSnapshotBuffer; after that the snapshot is only read. Arrays grow when
+ * the diner does and are otherwise reused, so capturing does not allocate.
+ *
+ * Patience is stored as fractions (0..1) for both the previous and the
+ * captured tick so the renderer can interpolate between them.
+ */
+public class RenderSnapshot {
+
+    private static final Customer.CustomerType[] TYPES = Customer.CustomerType.values();
+    private static final Customer.CustomerState[] STATES = Customer.CustomerState.values();
+
+    public static final int NO_CUSTOMER = -1;
+
+    private int score;
+    private int lives;
+    private int level;
+    private boolean gameOver;
+
+    // Wall-clock timing for interpolation, set by the thread that runs the ticks
+    private long capturedAtNs;
+    private long carriedNs;
+    private long stepNs = 1;
+
+    private int waitingCount;
+    private int[] waitingId = new int[0];
+    private byte[] waitingType = new byte[0];
+    private float[] waitingPatience = new float[0];
+    private float[] waitingPreviousPatience = new float[0];
+
+    private int tableCount;
+    private float[] tableBounds = new float[0]; // left, top, right, bottom per table
+    private int[] seatedId = new int[0];
+    private byte[] seatedType = new byte[0];
+    private byte[] seatedState = new byte[0];
+    private float[] seatedPatience = new float[0];
+    private float[] seatedPreviousPatience = new float[0];
+    // Tables whose food is waiting on the counter, in table order, so the counter never scans every table
+    private int foodReadyCount;
+    private int[] foodReadyTables = new int[0];
+
+    // Game thread only
+    public void capture(DinerState state) {
+        score = state.getScore();
+        lives = state.getPlayerLives();
+        level = state.getCurrentLevel();
+        gameOver = state.isGameOver();
+
+        List<Customer> waiting = state.getWaitingCustomers();
+        ensureWaitingCapacity(waiting.size());
+        waitingCount = 0;
+        for (int i = 0; i < waiting.size(); i++) {
+            Customer customer = waiting.get(i);
+            if (customer.getState() == Customer.CustomerState.ANGRY_LEFT) {
+                continue;
+            }
+            waitingId[waitingCount] = customer.getId();
+            waitingType[waitingCount] = (byte) customer.getType().ordinal();
+            waitingPatience[waitingCount] = customer.getPatiencePercentage(1f);
+            waitingPreviousPatience[waitingCount] = customer.getPatiencePercentage(0f);
+            waitingCount++;
+        }
+
+        List<Table> tables = state.getTables();
+        tableCount = tables.size();
+        ensureTableCapacity(tableCount);
+        foodReadyCount = 0;
+        for (int i = 0; i < tableCount; i++) {
+            Table table = tables.get(i);
+            Bounds rect = table.getPositionRect();
+            tableBounds[i * 4] = rect.left;
+            tableBounds[i * 4 + 1] = rect.top;
+            tableBounds[i * 4 + 2] = rect.right;
+            tableBounds[i * 4 + 3] = rect.bottom;
+
+            Customer seated = table.getSeatedCustomer();
+            if (seated == null || seated.getState() == Customer.CustomerState.ANGRY_LEFT) {
+                seatedId[i] = NO_CUSTOMER;
+                continue;
+            }
+            seatedId[i] = seated.getId();
+            seatedType[i] = (byte) seated.getType().ordinal();
+            seatedState[i] = (byte) seated.getState().ordinal();
+            seatedPatience[i] = seated.getPatiencePercentage(1f);
+            seatedPreviousPatience[i] = seated.getPatiencePercentage(0f);
+            if (seated.getState() == Customer.CustomerState.FOOD_READY) {
+                foodReadyTables[foodReadyCount++] = i;
+            }
+        }
+    }
+
+    private void ensureWaitingCapacity(int count) {
+        if (waitingId.length >= count) {
+            return;
+        }
+        int capacity = Math.max(count, waitingId.length * 2);
+        waitingId = Arrays.copyOf(waitingId, capacity);
+        waitingType = Arrays.copyOf(waitingType, capacity);
+        waitingPatience = Arrays.copyOf(waitingPatience, capacity);
+        waitingPreviousPatience = Arrays.copyOf(waitingPreviousPatience, capacity);
+    }
+
+    private void ensureTableCapacity(int count) {
+        if (seatedId.length >= count) {
+            return;
+        }
+        tableBounds = Arrays.copyOf(tableBounds, count * 4);
+        seatedId = Arrays.copyOf(seatedId, count);
+        seatedType = Arrays.copyOf(seatedType, count);
+        seatedState = Arrays.copyOf(seatedState, count);
+        seatedPatience = Arrays.copyOf(seatedPatience, count);
+        seatedPreviousPatience = Arrays.copyOf(seatedPreviousPatience, count);
+        foodReadyTables = Arrays.copyOf(foodReadyTables, count);
+    }
+
+    // capturedAtNs is System.nanoTime() at capture; carriedNs is the clock's leftover towards the next tick
+    public void setTiming(long capturedAtNs, long carriedNs, long stepNs) {
+        this.capturedAtNs = capturedAtNs;
+        this.carriedNs = carriedNs;
+        this.stepNs = Math.max(1L, stepNs);
+    }
+
+    // Interpolation factor (0..1) for drawing this snapshot at wall time nowNs
+    public float getAlpha(long nowNs) {
+        long sinceTick = carriedNs + Math.max(0L, nowNs - capturedAtNs);
+        return Math.min(1f, sinceTick / (float) stepNs);
+    }
+
+    public int getScore() { return score; }
+    public int getLives() { return lives; }
+    public int getLevel() { return level; }
+    public boolean isGameOver() { return gameOver; }
+
+    public int getWaitingCount() { return waitingCount; }
+    public int getWaitingId(int index) { return waitingId[index]; }
+    public Customer.CustomerType getWaitingType(int index) { return TYPES[waitingType[index]]; }
+
+    public float getWaitingPatience(int index, float alpha) {
+        float previous = waitingPreviousPatience[index];
+        return previous + (waitingPatience[index] - previous) * alpha;
+    }
+
+    public int getTableCount() { return tableCount; }
+    public float getTableLeft(int table) { return tableBounds[table * 4]; }
+    public float getTableTop(int table) { return tableBounds[table * 4 + 1]; }
+    public float getTableRight(int table) { return tableBounds[table * 4 + 2]; }
+    public float getTableBottom(int table) { return tableBounds[table * 4 + 3]; }
+
+    public int getSeatedId(int table) { return seatedId[table]; }
+    public Customer.CustomerType getSeatedType(int table) { return TYPES[seatedType[table]]; }
+    public Customer.CustomerState getSeatedState(int table) { return STATES[seatedState[table]]; }
+
+    public int getFoodReadyCount() { return foodReadyCount; }
+    public int getFoodReadyTable(int index) { return foodReadyTables[index]; }
+
+    public float getSeatedPatience(int table, float alpha) {
+        float previous = seatedPreviousPatience[table];
+        return previous + (seatedPatience[table] - previous) * alpha;
+    }
+}
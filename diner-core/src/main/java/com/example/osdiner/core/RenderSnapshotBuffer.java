@@ -0,0 +1,49 @@
+package com.example.osdiner.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer of RenderSnapshots between one writer (the game
+ * thread) and one reader (the render thread).
+ *
+ * The writer always has a buffer of its own to fill, the reader always keeps
+ * the one it is drawing, and the third holds the newest published snapshot.
+ * Neither side ever waits for the other: a slow frame just means some
+ * snapshots are skipped, and a slow tick means the same snapshot is drawn
+ * again.
+ */
+public class RenderSnapshotBuffer {
+
+    private static final int INDEX_MASK = 0x3;
+    private static final int FRESH = 0x4; // Set when the middle buffer has not been read yet
+
+    private final RenderSnapshot[] buffers = {
+            new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()
+    };
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int writeIndex = 0; // Writer only
+    private int readIndex = 2;  // Reader only
+    private boolean hasRead;    // Reader only
+
+    // Writer only. The snapshot to fill before the next publish().
+    public RenderSnapshot getWriteBuffer() {
+        return buffers[writeIndex];
+    }
+
+    // Writer only. Makes the filled write buffer the newest snapshot.
+    public void publish() {
+        writeIndex = middle.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Reader only. Returns the newest published snapshot, or null if nothing
+     * has been published yet. The snapshot stays valid until the next call.
+     */
+    public RenderSnapshot acquireLatest() {
+        if ((middle.get() & FRESH) != 0) {
+            readIndex = middle.getAndSet(readIndex) & INDEX_MASK;
+            hasRead = true;
+        }
+        return hasRead ? buffers[readIndex] : null;
+    }
+}
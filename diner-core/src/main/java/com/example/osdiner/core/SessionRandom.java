@@ -0,0 +1,46 @@
+package com.example.osdiner.core;
+
+import java.util.SplittableRandom;
+
+/**
+ * The random streams of one game session, all split from a single seed:
+ * one for arrival gaps, one for customer types and one for the player
+ * policy. A seed replays the session bit for bit, and because each use
+ * has its own stream, changing how one is consumed (say, a policy that
+ * draws more numbers) leaves the others untouched.
+ *
+ * Nothing is shared between sessions, so parallel games never contend on
+ * a common seed. SplittableRandom is not thread-safe: each stream belongs
+ * to the one thread that uses it.
+ */
+public final class SessionRandom {
+
+    private final long seed;
+    private final SplittableRandom arrivals;
+    private final SplittableRandom types;
+    private final SplittableRandom policy;
+
+    // A session with a fresh seed, for play that does not need replaying; getSeed() still tells it
+    public SessionRandom() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public SessionRandom(long seed) {
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        arrivals = root.split();
+        types = root.split();
+        policy = root.split();
+    }
+
+    public long getSeed() { return seed; }
+
+    // Gaps between customer arrivals
+    public SplittableRandom arrivals() { return arrivals; }
+
+    // The type of each arriving customer
+    public SplittableRandom types() { return types; }
+
+    // Free for the player policy; the game itself never draws from it
+    public SplittableRandom policy() { return policy; }
+}
@@ -1,23 +1,21 @@
-package com.example.osdiner;
-import android.graphics.RectF;
+package com.example.osdiner.core;
+
 public class Table {
     public final int id;
-    public final RectF positionRect; // Position/bounds for drawing/tapping
+    public final Bounds positionRect; // Position/bounds for drawing/tapping
     private boolean isOccupied = false;
     private Customer seatedCustomer = null;
 
-    // Keep track of table IDs
-    private static int nextId = 0;
-
-    public Table(RectF rect) {
-        this.id = nextId++;
+    // The id is the table's index in its diner, as commands and snapshots name it
+    public Table(int id, Bounds rect) {
+        this.id = id;
         this.positionRect = rect;
     }
 
     public boolean isOccupied() { return isOccupied; }
     public Customer getSeatedCustomer() { return seatedCustomer; }
 
-    public RectF getPositionRect() {
+    public Bounds getPositionRect() {
         return positionRect;
     }
 
@@ -29,8 +27,4 @@ public class Table {
         this.seatedCustomer = null;
         this.isOccupied = false;
     }
-
-    public static void resetIds() {
-        nextId = 0;
-    }
 }
\ No newline at end of file
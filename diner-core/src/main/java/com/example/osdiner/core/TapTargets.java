@@ -0,0 +1,157 @@
+package com.example.osdiner.core;
+
+import java.util.Arrays;
+
+/**
+ * Hit rectangles drawn in one frame, each tagged with a kind and the id it
+ * acts on (a customer id, or a table index for TABLE), indexed by a uniform
+ * grid over the screen. Each target is linked into every cell it overlaps,
+ * so a lookup only looks at the few targets sharing the touched cell,
+ * however many are on screen.
+ *
+ * Everything is stored in flat arrays that are reused frame after frame:
+ * clear() is O(1) because cells are stamped with the frame they were last
+ * filled in, and adding never allocates once the arrays have grown to the
+ * busiest frame seen.
+ *
+ * Not thread-safe: the renderer fills one instance while the UI thread
+ * hit-tests another, and the two are swapped under a lock.
+ */
+public class TapTargets {
+
+    public static final int WAITING_CUSTOMER = 0;
+    public static final int CONFIRM_ORDER = 1;
+    public static final int FOOD_READY = 2;
+    public static final int CLEAR_TABLE = 3;
+    public static final int TABLE = 4;
+
+    public static final int NO_TARGET = -1;
+
+    // Roughly one customer icon; small enough that a cell rarely holds more than a couple of targets
+    static final int CELL_SIZE = 128;
+
+    private float[] bounds;  // left, top, right, bottom per target
+    private int[] kinds;
+    private int[] ids;
+    private int count;
+
+    // Grid: per cell, the head of a linked list of entries, valid only if stamped with this frame
+    private int columns;
+    private int rows;
+    private int[] cellHead = new int[0];
+    private int[] cellFrame = new int[0];
+    private int frame = 1;
+
+    // Entries: one per (target, cell) pair
+    private int[] entryTarget;
+    private int[] entryNext;
+    private int entryCount;
+
+    public TapTargets(int capacity) {
+        bounds = new float[capacity * 4];
+        kinds = new int[capacity];
+        ids = new int[capacity];
+        entryTarget = new int[capacity * 2];
+        entryNext = new int[capacity * 2];
+        clear(0, 0);
+    }
+
+    // Starts a new frame on a surface of the given size; only reallocates the grid when the size grows
+    public void clear(int width, int height) {
+        count = 0;
+        entryCount = 0;
+        columns = Math.max(1, (width + CELL_SIZE - 1) / CELL_SIZE);
+        rows = Math.max(1, (height + CELL_SIZE - 1) / CELL_SIZE);
+        if (columns * rows > cellHead.length) {
+            cellHead = new int[columns * rows];
+            cellFrame = new int[columns * rows];
+        }
+        frame++;
+        if (frame == 0) {
+            // Wrapped: old stamps could look current again
+            Arrays.fill(cellFrame, 0);
+            frame = 1;
+        }
+    }
+
+    public int size() { return count; }
+
+    public void add(int kind, int id, float left, float top, float right, float bottom) {
+        if (count == ids.length) {
+            int capacity = Math.max(4, ids.length * 2);
+            bounds = Arrays.copyOf(bounds, capacity * 4);
+            kinds = Arrays.copyOf(kinds, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        int target = count++;
+        int b = target * 4;
+        bounds[b] = left;
+        bounds[b + 1] = top;
+        bounds[b + 2] = right;
+        bounds[b + 3] = bottom;
+        kinds[target] = kind;
+        ids[target] = id;
+
+        int firstColumn = columnOf(left);
+        int lastColumn = columnOf(right);
+        int firstRow = rowOf(top);
+        int lastRow = rowOf(bottom);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                link(row * columns + column, target);
+            }
+        }
+    }
+
+    private void link(int cell, int target) {
+        if (entryCount == entryTarget.length) {
+            int capacity = Math.max(8, entryTarget.length * 2);
+            entryTarget = Arrays.copyOf(entryTarget, capacity);
+            entryNext = Arrays.copyOf(entryNext, capacity);
+        }
+        int entry = entryCount++;
+        entryTarget[entry] = target;
+        if (cellFrame[cell] != frame) {
+            cellFrame[cell] = frame;
+            entryNext[entry] = -1;
+        } else {
+            entryNext[entry] = cellHead[cell];
+        }
+        cellHead[cell] = entry;
+    }
+
+    private int columnOf(float x) {
+        return Math.min(columns - 1, Math.max(0, (int) Math.floor(x / CELL_SIZE)));
+    }
+
+    private int rowOf(float y) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor(y / CELL_SIZE)));
+    }
+
+    /**
+     * Id of the target of the given kind containing (x, y), or NO_TARGET.
+     * When several overlap, the one added first wins.
+     */
+    public int find(int kind, float x, float y) {
+        if (count == 0) {
+            return NO_TARGET;
+        }
+        int cell = rowOf(y) * columns + columnOf(x);
+        if (cellFrame[cell] != frame) {
+            return NO_TARGET;
+        }
+        int best = -1;
+        for (int entry = cellHead[cell]; entry >= 0; entry = entryNext[entry]) {
+            int target = entryTarget[entry];
+            if (kinds[target] != kind || (best >= 0 && target > best)) {
+                continue;
+            }
+            int b = target * 4;
+            // Same edges as RectF.contains: left/top inclusive, right/bottom exclusive
+            if (x >= bounds[b] && x < bounds[b + 2] && y >= bounds[b + 1] && y < bounds[b + 3]) {
+                best = target;
+            }
+        }
+        return best >= 0 ? ids[best] : NO_TARGET;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.osdiner.core;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timer wheel over integer timer ids.
+ * Deadlines are absolute wheel ticks. Level 0 has 256 one-tick buckets and
+ * each higher level has 64 buckets covering the whole span of the level below,
+ * so scheduling, cancelling and expiring are O(1) and advancing costs one
+ * bucket check per wheel tick plus the timers that actually fire.
+ *
+ * Buckets are intrusive doubly-linked lists threaded through int arrays, so
+ * the wheel allocates nothing once its capacity is large enough.
+ */
+public class TimerWheel {
+
+    private static final int ROOT_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 4;
+    private static final int ROOT_SIZE = 1 << ROOT_BITS;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final int NONE = -1;
+
+    private final int[][] heads = new int[LEVELS][];
+    private int[] next;
+    private int[] prev;
+    private int[] bucketOf;  // level * ROOT_SIZE + index, or NONE when not scheduled
+    private long[] deadline;
+
+    private long currentTick;
+
+    private int[] expired;
+    private int expiredCount;
+
+    public TimerWheel(int capacity) {
+        heads[0] = new int[ROOT_SIZE];
+        for (int level = 1; level < LEVELS; level++) {
+            heads[level] = new int[LEVEL_SIZE];
+        }
+        for (int[] level : heads) {
+            Arrays.fill(level, NONE);
+        }
+        next = new int[0];
+        prev = new int[0];
+        bucketOf = new int[0];
+        deadline = new long[0];
+        expired = new int[0];
+        ensureCapacity(capacity);
+    }
+
+    public void ensureCapacity(int capacity) {
+        int old = next.length;
+        if (capacity <= old) {
+            return;
+        }
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        bucketOf = Arrays.copyOf(bucketOf, capacity);
+        deadline = Arrays.copyOf(deadline, capacity);
+        expired = Arrays.copyOf(expired, capacity);
+        Arrays.fill(bucketOf, old, capacity, NONE);
+    }
+
+    public long getCurrentTick() { return currentTick; }
+
+    // Moves an empty wheel straight to tick, e.g. to run in step with another wheel
+    public void startAt(long tick) {
+        for (int[] level : heads) {
+            for (int head : level) {
+                if (head != NONE) {
+                    throw new IllegalStateException("startAt() needs an empty wheel");
+                }
+            }
+        }
+        currentTick = tick;
+        expiredCount = 0;
+    }
+
+    public boolean isScheduled(int id) { return bucketOf[id] != NONE; }
+
+    // Deadlines at or before the current tick fire on the next advance
+    public void schedule(int id, long deadlineTick) {
+        cancel(id);
+        deadline[id] = Math.max(deadlineTick, currentTick + 1);
+        insert(id);
+    }
+
+    public void cancel(int id) {
+        int bucket = bucketOf[id];
+        if (bucket == NONE) {
+            return;
+        }
+        int[] levelHeads = heads[bucket / ROOT_SIZE];
+        int index = bucket % ROOT_SIZE;
+        if (prev[id] != NONE) {
+            next[prev[id]] = next[id];
+        } else {
+            levelHeads[index] = next[id];
+        }
+        if (next[id] != NONE) {
+            prev[next[id]] = prev[id];
+        }
+        bucketOf[id] = NONE;
+    }
+
+    private void insert(int id) {
+        long when = deadline[id];
+        long delta = when - currentTick;
+        int level;
+        int index;
+        if (delta < ROOT_SIZE) {
+            level = 0;
+            index = (int) (when & (ROOT_SIZE - 1));
+        } else {
+            level = 1;
+            int shift = ROOT_BITS;
+            while (level < LEVELS - 1 && delta >= (long) ROOT_SIZE << (LEVEL_BITS * level)) {
+                level++;
+                shift += LEVEL_BITS;
+            }
+            // Anything past the top level's span waits in its furthest bucket and cascades down later
+            long span = (long) ROOT_SIZE << (LEVEL_BITS * level);
+            long placed = (delta >= span) ? currentTick + span - 1 : when;
+            index = (int) ((placed >>> shift) & (LEVEL_SIZE - 1));
+        }
+        int[] levelHeads = heads[level];
+        int head = levelHeads[index];
+        next[id] = head;
+        prev[id] = NONE;
+        if (head != NONE) {
+            prev[head] = id;
+        }
+        levelHeads[index] = id;
+        bucketOf[id] = level * ROOT_SIZE + index;
+    }
+
+    // Moves the wheel forward to toTick and collects every timer that came due
+    public void advance(long toTick) {
+        expiredCount = 0;
+        while (currentTick < toTick) {
+            currentTick++;
+            int rootIndex = (int) (currentTick & (ROOT_SIZE - 1));
+            if (rootIndex == 0) {
+                cascade(1);
+            }
+            int id = heads[0][rootIndex];
+            while (id != NONE) {
+                int following = next[id];
+                if (deadline[id] <= currentTick) {
+                    cancel(id);
+                    expired[expiredCount++] = id;
+                }
+                id = following;
+            }
+        }
+    }
+
+    // Re-files one bucket of the given level into the levels below it
+    private void cascade(int level) {
+        int shift = ROOT_BITS + LEVEL_BITS * (level - 1);
+        int index = (int) ((currentTick >>> shift) & (LEVEL_SIZE - 1));
+        if (index == 0 && level + 1 < LEVELS) {
+            cascade(level + 1);
+        }
+        int id = heads[level][index];
+        heads[level][index] = NONE;
+        while (id != NONE) {
+            int following = next[id];
+            bucketOf[id] = NONE;
+            insert(id);
+            id = following;
+        }
+    }
+
+    public int getExpiredCount() { return expiredCount; }
+    public int getExpired(int index) { return expired[index]; }
+}
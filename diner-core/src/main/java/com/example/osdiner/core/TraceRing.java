@@ -0,0 +1,98 @@
+package com.example.osdiner.core;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * Fixed-size ring of structured game events kept in a primitive array.
+ * Each record is two longs: the simulation time in nanoseconds, and the event
+ * type, customer state, table id and customer id packed into one word.
+ * Recording never allocates; once full, the oldest records are overwritten.
+ *
+ * Written by the game thread only. Dump it from the game thread or while the
+ * game is paused.
+ */
+public class TraceRing {
+
+    public static final int EVENT_STATE_CHANGED = 1;
+    public static final int EVENT_CUSTOMER_LEFT = 2;
+
+    // Binary dump header: "DTRC", then format version
+    private static final int MAGIC = 0x44545243;
+    private static final int VERSION = 1;
+
+    private static final Customer.CustomerState[] STATES = Customer.CustomerState.values();
+
+    private final long[] records;
+    private final int capacity;
+    private long written;
+
+    public TraceRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.records = new long[capacity * 2];
+    }
+
+    // tableId is -1 when the customer is not at a table
+    public void record(long timeNanos, int eventType, int customerId, int state, int tableId) {
+        int index = (int) (written % capacity) * 2;
+        records[index] = timeNanos;
+        records[index + 1] = ((long) (eventType & 0xFF) << 56)
+                | ((long) (state & 0xFF) << 48)
+                | ((long) (tableId & 0xFFFF) << 32)
+                | (customerId & 0xFFFFFFFFL);
+        written++;
+    }
+
+    public int size() { return (int) Math.min(written, capacity); }
+    public long getTotalRecorded() { return written; }
+
+    public void clear() { written = 0; }
+
+    // i = 0 is the oldest record still in the ring
+    public long getTimeNanos(int i) { return records[slot(i)]; }
+    public int getEventType(int i) { return (int) (records[slot(i) + 1] >>> 56); }
+    public int getState(int i) { return (int) (records[slot(i) + 1] >>> 48) & 0xFF; }
+    public int getCustomerId(int i) { return (int) records[slot(i) + 1]; }
+
+    public int getTableId(int i) {
+        int table = (int) (records[slot(i) + 1] >>> 32) & 0xFFFF;
+        return table == 0xFFFF ? -1 : table;
+    }
+
+    private int slot(int i) {
+        long oldest = written - size();
+        return (int) ((oldest + i) % capacity) * 2;
+    }
+
+    // Binary dump: header (magic, version, record count) then two longs per record, oldest first
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        int count = size();
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            int index = slot(i);
+            data.writeLong(records[index]);
+            data.writeLong(records[index + 1]);
+        }
+        data.flush();
+    }
+
+    public void writeCsv(Writer out) throws IOException {
+        out.write("time_ns,event,customer,state,table\n");
+        int count = size();
+        for (int i = 0; i < count; i++) {
+            int state = getState(i);
+            out.write(getTimeNanos(i) + "," + getEventType(i) + "," + getCustomerId(i) + ","
+                    + (state < STATES.length ? STATES[state].name() : String.valueOf(state)) + ","
+                    + getTableId(i) + "\n");
+        }
+        out.flush();
+    }
+}
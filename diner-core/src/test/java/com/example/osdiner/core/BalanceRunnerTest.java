@@ -0,0 +1,79 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BalanceRunnerTest {
+
+    @Test
+    public void sweep_coversEveryCombination() {
+        BalanceRunner runner = new BalanceRunner();
+        runner.parse(new String[] {
+                "--sweep", "cook=6,10",
+                "--sweep", "patience.VIP=100,200,300",
+                "--sweep", "player=vipFirst"
+        });
+        List<BalanceRunner.Point> points = runner.points();
+
+        assertEquals(6, points.size());
+        assertEquals(6f, points.get(0).balance.getCookDurationSeconds(), 0f);
+        assertEquals(300f, points.get(2).balance.getCustomerConfig(Customer.CustomerType.VIP).getInitialPatience(), 0f);
+        assertEquals(10f, points.get(3).balance.getCookDurationSeconds(), 0f);
+        assertSame(PlayerPolicies.VIP_FIRST, points.get(5).policy);
+        // Untouched values keep their defaults
+        assertEquals(500, points.get(5).balance.getScorePerLevel());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownSweepKey_isRejected() {
+        new BalanceRunner().parse(new String[] { "--sweep", "patience.GHOST=1,2" });
+    }
+
+    @Test
+    public void nonPositiveCountsAndZeroGaps_areRejected() {
+        String[][] invalid = {
+                { "--games", "0" },
+                { "--games", "-5" },
+                { "--tick-hz", "0" },
+        };
+        for (String[] args : invalid) {
+            try {
+                new BalanceRunner().parse(args);
+                fail("accepted " + String.join(" ", args));
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+
+        BalanceRunner runner = new BalanceRunner();
+        runner.parse(new String[] { "--sweep", "arrivalFloor=0" });
+        try {
+            runner.points();
+            fail("accepted a zero arrival floor");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void largeDiners_tickInPartitionsWhenWorkersWouldIdle() {
+        BalanceRunner few = new BalanceRunner();
+        few.parse(new String[] { "--games", "1", "--threads", "4", "--parallel-tables", "256" });
+        assertTrue(few.usesPartitionedTicks(500));
+        assertFalse(few.usesPartitionedTicks(12));
+
+        BalanceRunner many = new BalanceRunner();
+        many.parse(new String[] { "--games", "100", "--threads", "4" });
+        assertFalse(many.usesPartitionedTicks(500));
+    }
+
+    @Test
+    public void percentile_usesNearestRank() {
+        double[] sorted = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+        assertEquals(1, BalanceRunner.percentile(sorted, 0.1), 0);
+        assertEquals(5, BalanceRunner.percentile(sorted, 0.5), 0);
+        assertEquals(9, BalanceRunner.percentile(sorted, 0.9), 0);
+        assertEquals(0, BalanceRunner.percentile(new double[0], 0.5), 0);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CameraTest {
+
+    @Test
+    public void worldThatFits_isDrawnUnmoved() {
+        Camera camera = new Camera();
+        Bounds floor = new Bounds(400, 0, 1920, 756);
+        camera.setBounds(floor, floor);
+
+        assertFalse(camera.isWorldLargerThanView());
+        assertEquals(500f, camera.toScreenX(500f), 0f);
+        assertEquals(300f, camera.toScreenY(300f), 0f);
+        camera.panBy(-200f, -200f);
+        assertEquals(500f, camera.toScreenX(500f), 0f);
+        assertEquals(Camera.DETAIL_FULL, camera.getDetailLevel());
+    }
+
+    @Test
+    public void panAndZoom_stayInsideTheWorld() {
+        Camera camera = new Camera();
+        camera.setBounds(new Bounds(0, 0, 1000, 500), new Bounds(0, 0, 4000, 2000));
+        assertTrue(camera.isWorldLargerThanView());
+
+        assertEquals(1000f, camera.getViewRight(), 0.001f);
+        assertEquals(500f, camera.getViewBottom(), 0.001f);
+
+        camera.panBy(-1500f, 0f);
+        assertEquals(1500f, camera.getViewLeft(), 0.001f);
+        assertEquals(2500f, camera.getViewRight(), 0.001f);
+        camera.panBy(-10_000f, -10_000f);
+        assertEquals(4000f, camera.getViewRight(), 0.001f);
+        assertEquals(2000f, camera.getViewBottom(), 0.001f);
+
+        // The world point under the focus stays put
+        float worldX = camera.toWorldX(1000f);
+        float worldY = camera.toWorldY(500f);
+        camera.zoomBy(0.5f, 1000f, 500f);
+        assertEquals(worldX, camera.toWorldX(1000f), 0.01f);
+        assertEquals(worldY, camera.toWorldY(500f), 0.01f);
+        assertEquals(Camera.DETAIL_REDUCED, camera.getDetailLevel());
+
+        // Zooming out stops with the whole world in view
+        camera.zoomBy(0.01f, 500f, 250f);
+        assertEquals(0.25f, camera.getZoom(), 0.0001f);
+        assertEquals(Camera.DETAIL_MARKERS, camera.getDetailLevel());
+        assertEquals(0f, camera.getViewLeft(), 0.001f);
+        assertEquals(4000f, camera.getViewRight(), 0.001f);
+        assertEquals(2000f, camera.getViewBottom(), 0.001f);
+
+        Camera copy = new Camera();
+        copy.set(camera);
+        assertEquals(camera.getKey(), copy.getKey());
+        assertEquals(camera.toScreenX(1234f), copy.toScreenX(1234f), 0f);
+    }
+}
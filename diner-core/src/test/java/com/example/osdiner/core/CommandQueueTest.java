@@ -0,0 +1,70 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CommandQueueTest {
+
+    @Test
+    public void commands_comeOutInPostOrderUntilFull() {
+        CommandQueue queue = new CommandQueue(4);
+        assertTrue(queue.offer(CommandQueue.SEAT_CUSTOMER, 7, 2));
+        assertTrue(queue.offer(CommandQueue.CONFIRM_ORDER, 8, CommandQueue.NO_TABLE));
+        assertTrue(queue.offer(CommandQueue.DELIVER_FOOD, 9, 0));
+        assertTrue(queue.offer(CommandQueue.CLEAR_TABLE, 10, CommandQueue.NO_TABLE));
+        assertFalse(queue.offer(CommandQueue.CLEAR_TABLE, 11, CommandQueue.NO_TABLE));
+
+        long first = queue.poll();
+        assertEquals(CommandQueue.SEAT_CUSTOMER, CommandQueue.typeOf(first));
+        assertEquals(7, CommandQueue.customerIdOf(first));
+        assertEquals(2, CommandQueue.tableIdOf(first));
+        assertEquals(CommandQueue.NO_TABLE, CommandQueue.tableIdOf(queue.poll()));
+        assertEquals(9, CommandQueue.customerIdOf(queue.poll()));
+        assertEquals(CommandQueue.CLEAR_TABLE, CommandQueue.typeOf(queue.poll()));
+        assertEquals(CommandQueue.NONE, queue.poll());
+        assertTrue(queue.isEmpty());
+
+        // Freed cells are reused
+        assertTrue(queue.offer(CommandQueue.SEAT_CUSTOMER, 12, 1));
+        assertEquals(12, CommandQueue.customerIdOf(queue.poll()));
+    }
+
+    @Test
+    public void concurrentProducers_loseNothing() throws InterruptedException {
+        final int producers = 4;
+        final int perProducer = 20_000;
+        CommandQueue queue = new CommandQueue(64);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer(CommandQueue.CONFIRM_ORDER, i, producer)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads[p].start();
+        }
+
+        // Each producer's commands must arrive complete and in its own order
+        int[] nextExpected = new int[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            long command = queue.poll();
+            if (command == CommandQueue.NONE) {
+                Thread.yield();
+                continue;
+            }
+            int producer = CommandQueue.tableIdOf(command);
+            assertEquals(nextExpected[producer], CommandQueue.customerIdOf(command));
+            nextExpected[producer]++;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
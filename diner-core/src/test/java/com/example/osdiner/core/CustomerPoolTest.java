@@ -0,0 +1,73 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CustomerPoolTest {
+
+    @Test
+    public void angryCustomer_isRecycledWithFreshIdAndType() {
+        DinerState state = new DinerState();
+        state.setArrivalsEnabled(false);
+        state.initializeTables(new Bounds[0]);
+        CustomerPool pool = state.getCustomerPool();
+
+        Customer customer = pool.obtain(Customer.CustomerType.VIP);
+        int firstId = customer.getId();
+        state.addWaitingCustomer(customer);
+        for (int i = 0; i < 60 * 60; i++) {
+            state.update(1.0 / 60.0);
+        }
+        assertEquals(Customer.CustomerState.ANGRY_LEFT, customer.getState());
+        assertEquals(1, pool.getFreeCount());
+
+        Customer next = pool.obtain(Customer.CustomerType.NORMAL);
+        assertSame(customer, next);
+        assertNotEquals(firstId, next.getId());
+        assertEquals(Customer.CustomerType.NORMAL, next.getType());
+        assertEquals(Customer.CustomerState.WAITING_QUEUE, next.getState());
+        assertEquals(1f, next.getPatiencePercentage(), 0f);
+        assertEquals(0.5f, pool.getHitRate(), 0f);
+    }
+
+    @Test
+    public void eachGame_numbersItsOwnCustomers() {
+        DinerState first = new DinerState(GameBalance.DEFAULT, new SessionRandom(9));
+        DinerState second = new DinerState(GameBalance.DEFAULT, new SessionRandom(9));
+        for (DinerState state : new DinerState[] { first, second }) {
+            state.initializeTables(new Bounds[] { new Bounds(0, 0, 100, 100) });
+            for (int i = 0; i < 60 * 60; i++) {
+                state.update(1.0 / 60.0);
+            }
+        }
+
+        // Ids start at 0 in every game, so the same seed gives the same ids however games interleave
+        assertEquals(0, new CustomerPool(1).obtain(Customer.CustomerType.NORMAL).getId());
+        assertFalse(first.getWaitingCustomers().isEmpty());
+        assertEquals(first.getWaitingCustomers().size(), second.getWaitingCustomers().size());
+        for (int i = 0; i < first.getWaitingCustomers().size(); i++) {
+            assertEquals(first.getWaitingCustomers().get(i).getDisplayId(), second.getWaitingCustomers().get(i).getDisplayId());
+        }
+    }
+
+    @Test
+    public void customersStillInDiner_areNotPooled() {
+        DinerState state = new DinerState();
+        Customer customer = new Customer();
+        state.addWaitingCustomer(customer);
+
+        state.getCustomerPool().release(customer);
+        assertEquals(0, state.getCustomerPool().getFreeCount());
+    }
+
+    @Test
+    public void fullPool_dropsExtras() {
+        CustomerPool pool = new CustomerPool(1);
+        pool.release(new Customer());
+        pool.release(new Customer());
+
+        assertEquals(1, pool.getFreeCount());
+        assertEquals(1, pool.getDropped());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CustomerStoreTest {
+
+    @Test
+    public void tick_drainsOnlyDrainingStates() {
+        CustomerStore store = new CustomerStore(2);
+        Customer waiting = new Customer();
+        Customer eating = new Customer();
+        waiting.attach(store, 1f);
+        eating.attach(store, 1f);
+        eating.setState(Customer.CustomerState.EATING);
+        eating.startEatingTimer();
+
+        float before = eating.getPatience();
+        store.tick(1f);
+
+        assertTrue(waiting.getPatiencePercentage() < 1f);
+        assertEquals(before, eating.getPatience(), 0f);
+        assertEquals(0, store.getEventCount());
+    }
+
+    @Test
+    public void tick_reportsFinishedPhase() {
+        CustomerStore store = new CustomerStore();
+        Customer customer = new Customer();
+        customer.attach(store, 1f);
+        customer.setState(Customer.CustomerState.SEATED_IDLE);
+
+        store.tick(Customer.ORDER_READY_DELAY + 0.01f);
+
+        assertEquals(1, store.getEventCount());
+        assertEquals(customer, store.getHandle(store.getEventSlot(0)));
+        assertTrue(store.isPhaseFinished(customer.getSlot()));
+    }
+
+    @Test
+    public void releasedSlots_areReused_andKeepFinalValues() {
+        CustomerStore store = new CustomerStore(1);
+        Customer first = new Customer();
+        first.attach(store, 1f);
+        int slot = first.getSlot();
+        first.leaveAngry();
+        first.detach();
+
+        assertEquals(Customer.CustomerState.ANGRY_LEFT, first.getState());
+        assertEquals(0, store.size());
+
+        Customer second = new Customer();
+        second.attach(store, 1f);
+        assertEquals(slot, second.getSlot());
+        assertEquals(Customer.CustomerState.WAITING_QUEUE, second.getState());
+        assertEquals(1, store.capacity());
+    }
+
+    @Test
+    public void findById_tracksAttachAndDetach() {
+        CustomerStore store = new CustomerStore(2);
+        Customer[] customers = new Customer[100]; // Grows the store and its id index
+        for (int i = 0; i < customers.length; i++) {
+            customers[i] = new Customer();
+            customers[i].attach(store, 1f);
+        }
+        for (int i = 0; i < customers.length; i += 2) {
+            customers[i].detach();
+        }
+
+        for (int i = 0; i < customers.length; i++) {
+            Customer expected = i % 2 == 0 ? null : customers[i];
+            assertSame(expected, store.findById(customers[i].getId()));
+        }
+        assertNull(store.findById(-5));
+    }
+}
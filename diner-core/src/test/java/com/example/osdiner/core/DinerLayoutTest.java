@@ -0,0 +1,105 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DinerLayoutTest {
+
+    @Test
+    public void defaultLayout_isOneRowOfThree() {
+        DinerLayout layout = new DinerLayout();
+        layout.compute(1920, 1080);
+
+        assertEquals(3, layout.getColumns());
+        assertEquals(1, layout.getRows());
+        Bounds[] tables = layout.getTables();
+        assertEquals(tables[0].top, tables[2].top, 0f);
+        assertTrue(tables[0].left >= layout.getWaitingArea().right);
+        assertEquals(1080 * 0.70f, layout.getCounter().top, 0f);
+    }
+
+    @Test
+    public void largeLayout_spillsPastTheScreenAtMinimumTableSize() {
+        DinerLayout layout = new DinerLayout(300, DinerLayout.AUTO_COLUMNS, 12);
+        layout.compute(2400, 1080);
+
+        assertEquals(12, layout.getWaitingCapacity());
+        assertTrue(layout.getColumns() * layout.getRows() >= 300);
+        assertTrue(layout.getColumns() > layout.getRows()); // The table area is wider than it is tall
+        Bounds world = layout.getWorld();
+        assertTrue(world.right > layout.getFloor().right);
+        assertTrue(world.bottom > layout.getFloor().bottom);
+        Bounds[] tables = layout.getTables();
+        for (int i = 1; i < tables.length; i++) {
+            Bounds previous = tables[i - 1];
+            Bounds table = tables[i];
+            assertEquals(DinerLayout.MIN_TABLE_SIZE, table.width(), 0.001f);
+            assertTrue(table.left >= previous.right || table.top >= previous.bottom);
+            assertTrue(table.left >= layout.getWaitingArea().right);
+            assertTrue(table.right <= world.right && table.bottom <= world.bottom);
+        }
+
+        DinerLayout fixed = new DinerLayout(10, 4, DinerState.UNLIMITED_WAITING);
+        fixed.compute(1920, 1080);
+        assertEquals(4, fixed.getColumns());
+        assertEquals(3, fixed.getRows());
+        assertEquals(fixed.getTables()[4].left, fixed.getTables()[0].left, 0.001f);
+    }
+
+    @Test
+    public void gridRanges_coverExactlyTheTablesOverlappingAnArea() {
+        DinerLayout layout = new DinerLayout(300, 30, DinerState.UNLIMITED_WAITING);
+        layout.compute(1920, 1080);
+        Bounds[] tables = layout.getTables();
+        float left = tables[33].left + 1f;   // Column 3, row 1
+        float top = tables[33].top + 1f;
+        float right = tables[65].right + 1f; // Column 5, row 2, just past its edge
+        float bottom = tables[65].top + 1f;
+
+        assertEquals(3, layout.firstColumn(left));
+        assertEquals(5, layout.lastColumn(right));
+        assertEquals(1, layout.firstRow(top));
+        assertEquals(2, layout.lastRow(bottom));
+        // Gaps between tables cover nothing
+        float gapLeft = tables[0].right + 1f;
+        assertTrue(layout.firstColumn(gapLeft) > layout.lastColumn(tables[1].left - 1f));
+    }
+
+    @Test
+    public void cameraView_culledThroughGridRanges_keepsExactlyTheTablesInView() {
+        DinerLayout layout = new DinerLayout(300, DinerLayout.AUTO_COLUMNS, DinerState.UNLIMITED_WAITING);
+        layout.compute(1920, 1080);
+        Camera camera = new Camera();
+        camera.setBounds(layout.getFloor(), layout.getWorld());
+        camera.panBy(-700f, -250f);
+        camera.zoomBy(0.8f, 1200f, 400f);
+
+        // As the renderer walks the floor: only the rows and columns the view overlaps
+        boolean[] drawn = new boolean[layout.getTables().length];
+        int lastRow = layout.lastRow(camera.getViewBottom());
+        int firstColumn = layout.firstColumn(camera.getViewLeft());
+        int lastColumn = layout.lastColumn(camera.getViewRight());
+        for (int row = layout.firstRow(camera.getViewTop()); row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int index = row * layout.getColumns() + column;
+                if (index < drawn.length) {
+                    drawn[index] = true;
+                }
+            }
+        }
+
+        int inView = 0;
+        Bounds[] tables = layout.getTables();
+        for (int i = 0; i < tables.length; i++) {
+            Bounds t = tables[i];
+            boolean visible = t.right > camera.getViewLeft() && t.left < camera.getViewRight()
+                    && t.bottom > camera.getViewTop() && t.top < camera.getViewBottom();
+            assertEquals("table " + i, visible, drawn[i]);
+            if (visible) {
+                inView++;
+            }
+        }
+        assertTrue(inView > 0 && inView < tables.length);
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.osdiner.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Plain-JVM tests for the diner rules, no device or emulator needed.
+ */
+public class DinerStateTest {
+
+    private static final double TICK = 1.0 / 60.0;
+
+    private DinerState state;
+
+    @Before
+    public void setUp() {
+        state = new DinerState();
+        // Customers are added by hand so each test controls who is in the diner
+        state.setArrivalsEnabled(false);
+        state.initializeTables(new Bounds[] {
+                new Bounds(0, 0, 100, 100),
+                new Bounds(200, 0, 300, 100)
+        });
+    }
+
+    private void advance(double seconds) {
+        for (double t = 0; t < seconds; t += TICK) {
+            state.update(TICK);
+        }
+    }
+
+    @Test
+    public void servedCustomer_awardsScore() {
+        Customer customer = new Customer();
+        state.addWaitingCustomer(customer);
+        Table table = state.getTables().get(0);
+
+        assertTrue(state.trySeatCustomerByDrag(customer, table));
+        advance(Customer.ORDER_READY_DELAY + 0.1);
+        assertEquals(Customer.CustomerState.WAITING_ORDER_CONFIRM, customer.getState());
+
+        state.confirmCustomerOrder(customer);
+        advance(9.0);
+        assertEquals(Customer.CustomerState.FOOD_READY, customer.getState());
+
+        assertTrue(state.deliverFood(customer, table));
+        advance(Customer.UNIVERSAL_EATING_DURATION + 0.1);
+        assertEquals(Customer.CustomerState.READY_TO_LEAVE, customer.getState());
+
+        state.clearTableForCustomer(customer);
+        assertFalse(table.isOccupied());
+        assertEquals(customer.getScoreValue(), state.getScore());
+    }
+
+    @Test
+    public void seatingOnOccupiedTable_fails() {
+        Customer first = new Customer();
+        Customer second = new Customer();
+        state.addWaitingCustomer(first);
+        state.addWaitingCustomer(second);
+        Table table = state.getTables().get(1);
+
+        assertTrue(state.trySeatCustomerByDrag(first, table));
+        assertFalse(state.trySeatCustomerByDrag(second, table));
+        assertTrue(state.getWaitingCustomers().contains(second));
+    }
+
+    @Test
+    public void ignoredCustomers_costLivesUntilGameOver() {
+        for (int i = 0; i < 5; i++) {
+            state.addWaitingCustomer(new Customer());
+        }
+        advance(200.0);
+
+        assertTrue(state.getWaitingCustomers().isEmpty());
+        assertEquals(0, state.getPlayerLives());
+        assertTrue(state.isGameOver());
+    }
+
+    @Test
+    public void postedCommands_applyOnNextTickAndSkipDepartedCustomers() {
+        Customer customer = new Customer();
+        Customer departed = new Customer();
+        state.addWaitingCustomer(customer);
+        Table table = state.getTables().get(0);
+
+        assertTrue(state.postSeatCustomer(departed.getId(), 1));
+        assertTrue(state.postSeatCustomer(customer.getId(), table.id));
+        assertFalse(table.isOccupied());
+
+        state.update(TICK);
+        assertSame(customer, table.getSeatedCustomer());
+        assertEquals(Customer.CustomerState.SEATED_IDLE, customer.getState());
+        assertFalse(state.getTables().get(1).isOccupied());
+        assertTrue(state.getCommandQueue().isEmpty());
+    }
+
+    @Test
+    public void arrivals_stayQueuedBeyondWaitingCapacity() {
+        state.setWaitingCapacity(2);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(state.getCustomerArrivalQueue().offer(new Customer()));
+        }
+
+        state.processCustomerArrivals();
+        assertEquals(2, state.getWaitingCustomers().size());
+        assertEquals(1, state.getCustomerArrivalQueue().size());
+
+        Customer first = state.getWaitingCustomers().get(0);
+        assertTrue(state.trySeatCustomerByDrag(first, state.getTables().get(1)));
+        state.processCustomerArrivals();
+        assertEquals(2, state.getWaitingCustomers().size());
+        assertTrue(state.getCustomerArrivalQueue().isEmpty());
+    }
+
+    @Test
+    public void arrivals_comeOnTheSimulationClock() {
+        SessionRandom expected = new SessionRandom(11);
+        long firstGapNanos = GameBalance.DEFAULT.nextArrivalDelayMs(0, expected.arrivals()) * 1_000_000L;
+        Customer.CustomerType firstType = Customer.randomType(expected.types());
+
+        DinerState diner = new DinerState(GameBalance.DEFAULT, new SessionRandom(11));
+        diner.initializeTables(new Bounds[] { new Bounds(0, 0, 100, 100) });
+        assertEquals(firstGapNanos, diner.getNextArrivalNanos());
+
+        while (diner.getCustomerStore().getTimeNanos() + TICK * 1e9 < firstGapNanos) {
+            diner.update(TICK);
+        }
+        assertTrue(diner.getWaitingCustomers().isEmpty());
+
+        // The tick that crosses the arrival time brings the customer straight to the waiting line
+        diner.update(TICK);
+        assertEquals(1, diner.getArrivalCount());
+        assertEquals(1, diner.getWaitingCustomers().size());
+        assertEquals(firstType, diner.getWaitingCustomers().get(0).getType());
+        assertTrue(diner.getNextArrivalNanos() > firstGapNanos);
+    }
+
+    @Test
+    public void arrivals_keepAtLeastOneMillisecondApart() {
+        // With a 1 ms floor, gaps at this score are drawn from 0-1 ms; a 0 ms gap must not stall the tick
+        GameBalance balance = GameBalance.DEFAULT.withArrivalSpeedUp(150, 300, 1);
+        for (Customer.CustomerType type : Customer.CustomerType.values()) {
+            balance = balance.withCustomerConfig(type, new Customer.CustomerConfig(10_000f, 5000, 1.0f));
+        }
+        assertEquals(0, balance.minArrivalDelayMs(5000));
+        assertEquals(1, balance.maxArrivalDelayMs(5000));
+
+        state = new DinerState(balance, new SessionRandom(3));
+        state.setArrivalsEnabled(false);
+        state.initializeTables(new Bounds[] { new Bounds(0, 0, 100, 100) });
+        Customer customer = new Customer(Customer.CustomerType.NORMAL, balance.getCustomerConfig(Customer.CustomerType.NORMAL));
+        state.addWaitingCustomer(customer);
+        Table table = state.getTables().get(0);
+        assertTrue(state.trySeatCustomerByDrag(customer, table));
+        advance(Customer.ORDER_READY_DELAY + 0.1);
+        state.confirmCustomerOrder(customer);
+        advance(balance.getCookDurationSeconds() + 0.1);
+        assertTrue(state.deliverFood(customer, table));
+        advance(Customer.UNIVERSAL_EATING_DURATION + 0.1);
+        state.clearTableForCustomer(customer);
+        assertEquals(5000, state.getScore());
+
+        // Catch up on the arrivals missed while they were off, then count one second's worth
+        state.setArrivalsEnabled(true);
+        state.update(TICK);
+        int before = state.getArrivalCount();
+        long start = state.getCustomerStore().getTimeNanos();
+        advance(1.0);
+        double elapsedMs = (state.getCustomerStore().getTimeNanos() - start) / 1e6;
+        assertEquals(elapsedMs, state.getArrivalCount() - before, 1.0);
+        assertTrue(state.getNextArrivalNanos() > state.getCustomerStore().getTimeNanos());
+    }
+
+    @Test
+    public void partitionedUpdate_matchesSerialUpdate() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            DinerState serial = busyDiner(null);
+            DinerState parallel = busyDiner(pool);
+            assertEquals(1, serial.getPartitionCount());
+            assertEquals(4, parallel.getPartitionCount());
+
+            for (double t = 0; t < 90.0; t += TICK) {
+                assertEquals(serial.update(TICK), parallel.update(TICK));
+                if (Math.abs(t - 20.0) < TICK / 2) {
+                    // Serve half the tables so both paths see orders, cooking and angry leaves
+                    for (int i = 0; i < serial.getTables().size(); i += 2) {
+                        serial.confirmCustomerOrder(serial.getTables().get(i).getSeatedCustomer());
+                        parallel.confirmCustomerOrder(parallel.getTables().get(i).getSeatedCustomer());
+                    }
+                }
+            }
+
+            assertEquals(serial.getPlayerLives(), parallel.getPlayerLives());
+            assertEquals(serial.getWaitingCustomers().size(), parallel.getWaitingCustomers().size());
+            for (int i = 0; i < serial.getTables().size(); i++) {
+                Customer expected = serial.getTables().get(i).getSeatedCustomer();
+                Customer actual = parallel.getTables().get(i).getSeatedCustomer();
+                assertEquals(expected == null, actual == null);
+                if (expected != null) {
+                    assertEquals(expected.getState(), actual.getState());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // 64 seated customers and a few waiting; partitions are enabled after seating, so seated customers move
+    private static DinerState busyDiner(ForkJoinPool pool) {
+        DinerState diner = new DinerState();
+        diner.setArrivalsEnabled(false);
+        Bounds[] rects = new Bounds[64];
+        for (int i = 0; i < rects.length; i++) {
+            rects[i] = new Bounds(i * 10, 0, i * 10 + 5, 5);
+        }
+        diner.initializeTables(rects);
+        for (Table table : diner.getTables()) {
+            Customer customer = new Customer(table.id % 3 == 0 ? Customer.CustomerType.VIP : Customer.CustomerType.NORMAL);
+            diner.addWaitingCustomer(customer);
+            diner.trySeatCustomerByDrag(customer, table);
+        }
+        for (int i = 0; i < 5; i++) {
+            diner.addWaitingCustomer(new Customer(Customer.CustomerType.IMPATIENT));
+        }
+        diner.update(TICK);
+        diner.setParallelUpdate(pool, 32);
+        return diner;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DirtyRegionTrackerTest {
+
+    private static final float WIDTH = 1000f;
+    private static final float HEIGHT = 1000f;
+
+    @Test
+    public void onlyChangedAndRemovedSlotsAreDirty() {
+        DirtyRegionTracker tracker = new DirtyRegionTracker(2);
+
+        // First frame always repaints fully
+        tracker.beginFrame();
+        tracker.report(0, 1L, 0, 0, 10, 10);
+        tracker.report(1, 7L, 100, 100, 110, 110);
+        tracker.report(2, 9L, 500, 500, 510, 510);
+        tracker.endFrame();
+        assertTrue(tracker.takeFullRepaint(WIDTH, HEIGHT, 0.5f));
+
+        // Same keys and bounds: nothing to repaint
+        tracker.beginFrame();
+        tracker.report(0, 1L, 0, 0, 10, 10);
+        tracker.report(1, 7L, 100, 100, 110, 110);
+        tracker.report(2, 9L, 500, 500, 510, 510);
+        tracker.endFrame();
+        assertFalse(tracker.takeFullRepaint(WIDTH, HEIGHT, 0.5f));
+        assertFalse(tracker.isDirty());
+
+        // Slot 1 moved, slot 2 disappeared: union of old and new bounds of both
+        tracker.beginFrame();
+        tracker.report(0, 1L, 0, 0, 10, 10);
+        tracker.report(1, 7L, 120, 100, 130, 110);
+        tracker.endFrame();
+        assertFalse(tracker.takeFullRepaint(WIDTH, HEIGHT, 0.5f));
+        assertTrue(tracker.isDirty());
+        assertEquals(100f, tracker.getDirtyLeft(), 0f);
+        assertEquals(100f, tracker.getDirtyTop(), 0f);
+        assertEquals(510f, tracker.getDirtyRight(), 0f);
+        assertEquals(510f, tracker.getDirtyBottom(), 0f);
+    }
+
+    @Test
+    public void largeDirtyAreaOrInvalidation_fallsBackToFullRepaint() {
+        DirtyRegionTracker tracker = new DirtyRegionTracker(4);
+        tracker.beginFrame();
+        tracker.report(0, 1L, 0, 0, 10, 10);
+        tracker.endFrame();
+        tracker.takeFullRepaint(WIDTH, HEIGHT, 0.5f);
+
+        tracker.beginFrame();
+        tracker.report(0, 2L, 0, 0, 900, 900);
+        tracker.endFrame();
+        assertTrue(tracker.takeFullRepaint(WIDTH, HEIGHT, 0.5f));
+
+        tracker.invalidateAll();
+        tracker.beginFrame();
+        tracker.report(0, 2L, 0, 0, 900, 900);
+        tracker.endFrame();
+        assertFalse(tracker.isDirty());
+        assertTrue(tracker.takeFullRepaint(WIDTH, HEIGHT, 0.5f));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DisplayIdCacheTest {
+
+    @Test
+    public void cache_reusesLabelsAndReplacesOnCollision() {
+        DisplayIdCache cache = new DisplayIdCache(8);
+
+        String vip = cache.get(Customer.CustomerType.VIP, 3);
+        assertEquals("VIP3", vip);
+        assertSame(vip, cache.get(Customer.CustomerType.VIP, 3));
+
+        // Same slot, different type or id
+        assertEquals("IMP3", cache.get(Customer.CustomerType.IMPATIENT, 3));
+        assertEquals("C11", cache.get(Customer.CustomerType.NORMAL, 11));
+        assertEquals("VIP3", cache.get(Customer.CustomerType.VIP, 3));
+    }
+
+    @Test
+    public void intLabel_rewritesDigitsInPlace() {
+        IntLabel label = new IntLabel("Score: ");
+
+        label.set(0);
+        char[] chars = label.getChars();
+        assertEquals("Score: 0", label.toString());
+        label.set(120);
+        assertSame(chars, label.getChars());
+        assertEquals("Score: 120", label.toString());
+        label.set(-5);
+        assertEquals("Score: -5", label.toString());
+        label.set(Integer.MIN_VALUE);
+        assertEquals("Score: " + Integer.MIN_VALUE, label.toString());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FixedStepClockTest {
+
+    private static final long STEP_60HZ = 16_666_666L;
+
+    @Test
+    public void elapsedTime_yieldsWholeTicksAndKeepsTheRemainder() {
+        FixedStepClock clock = new FixedStepClock(60, 5);
+        assertEquals(STEP_60HZ, clock.getStepNs());
+
+        assertEquals(0, clock.advance(STEP_60HZ / 2));
+        assertEquals(1, clock.advance(STEP_60HZ / 2 + 1));
+        assertEquals(1, clock.getAccumulatedNs());
+
+        // Three and a half ticks' worth in one frame
+        assertEquals(3, clock.advance(3 * STEP_60HZ + STEP_60HZ / 2));
+        assertEquals(STEP_60HZ / 2 + 1, clock.getAccumulatedNs());
+
+        // Negative frame times (clock adjustments) add nothing
+        assertEquals(0, clock.advance(-STEP_60HZ));
+        assertEquals(STEP_60HZ / 2 + 1, clock.getAccumulatedNs());
+    }
+
+    @Test
+    public void longStall_isClampedToMaxStepsAndDropsTheBacklog() {
+        FixedStepClock clock = new FixedStepClock(60, 5);
+
+        // A 2 s stall would be 120 ticks
+        assertEquals(5, clock.advance(2_000_000_000L + STEP_60HZ / 4));
+        assertTrue(clock.getAccumulatedNs() < STEP_60HZ);
+        assertEquals(1, clock.advance(STEP_60HZ));
+
+        // Exactly max steps is not a stall
+        clock.reset();
+        assertEquals(5, clock.advance(5 * STEP_60HZ));
+        assertEquals(0, clock.getAccumulatedNs());
+    }
+
+    @Test
+    public void alpha_staysWithinOneTick() {
+        FixedStepClock clock = new FixedStepClock(60, 5);
+        assertEquals(0f, clock.getAlpha(), 0f);
+
+        clock.advance(STEP_60HZ / 4);
+        assertEquals(0.25f, clock.getAlpha(), 1e-6f);
+
+        long[] frames = { 1, 7_000_000L, STEP_60HZ - 1, STEP_60HZ, 40_000_000L, 3_000_000_000L };
+        for (int i = 0; i < 200; i++) {
+            clock.advance(frames[i % frames.length]);
+            float alpha = clock.getAlpha();
+            assertTrue("alpha " + alpha, alpha >= 0f && alpha < 1f);
+        }
+
+        // One nanosecond short of a long tick still rounds below 1
+        FixedStepClock slow = new FixedStepClock(7, 5);
+        assertEquals(0, slow.advance(slow.getStepNs() - 1));
+        assertTrue(slow.getAlpha() < 1f);
+    }
+}
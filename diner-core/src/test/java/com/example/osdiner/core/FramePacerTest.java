@@ -0,0 +1,54 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FramePacerTest {
+
+    private static final long PERIOD_120HZ = 8_333_333L;
+
+    @Test
+    public void targetRate_spreadsFramesOverVsyncsAndCountsMisses() {
+        FramePacer pacer = new FramePacer();
+        pacer.setDisplayRefreshRate(120f);
+        pacer.setTargetFps(30);
+
+        int rendered = 0;
+        for (int i = 0; i < 12; i++) {
+            if (pacer.onVsync(i * PERIOD_120HZ + (i % 2) * 200_000L)) { // A little jitter
+                rendered++;
+            }
+        }
+        assertEquals(3, rendered);
+        assertEquals(9, pacer.getSkippedVsyncs());
+        assertEquals(0, pacer.getMissedVsyncs());
+
+        // Two vsyncs went by without a callback
+        pacer.setTargetFps(FramePacer.MATCH_DISPLAY);
+        assertTrue(pacer.onVsync(14 * PERIOD_120HZ));
+        assertEquals(2, pacer.getMissedVsyncs());
+        assertTrue(pacer.onVsync(15 * PERIOD_120HZ));
+
+        // After a pause the gap is not a miss
+        pacer.reset();
+        assertTrue(pacer.onVsync(500 * PERIOD_120HZ));
+        assertEquals(2, pacer.getMissedVsyncs());
+    }
+
+    @Test
+    public void unknownDisplayRate_isEstimatedAndLowPowerCapsRate() {
+        FramePacer pacer = new FramePacer();
+        pacer.setLowPower(true);
+        long period = 11_111_111L; // 90 Hz
+
+        int rendered = 0;
+        for (int i = 0; i < 90; i++) {
+            if (pacer.onVsync(i * period)) {
+                rendered++;
+            }
+        }
+        assertEquals(90f, pacer.getRefreshRate(), 0.5f);
+        assertEquals(FramePacer.LOW_POWER_FPS, rendered, 1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class GameBalanceTest {
+
+    @Test
+    public void defaults_matchTheShippedGame() {
+        GameBalance balance = GameBalance.DEFAULT;
+        assertEquals(8.0f, balance.getCookDurationSeconds(), 0f);
+        assertEquals(500, balance.getScorePerLevel());
+        for (Customer.CustomerType type : Customer.CustomerType.values()) {
+            assertSame(Customer.getConfig(type), balance.getCustomerConfig(type));
+        }
+
+        // Gaps start at 2.5-8 s and shrink by 300 ms every 150 points, down to 1-1.5 s
+        assertEquals(2500, balance.minArrivalDelayMs(0));
+        assertEquals(8000, balance.maxArrivalDelayMs(0));
+        assertEquals(7700, balance.maxArrivalDelayMs(150));
+        assertEquals(1500, balance.maxArrivalDelayMs(10_000));
+        assertEquals(1000, balance.minArrivalDelayMs(10_000));
+
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 1000; i++) {
+            int delay = balance.nextArrivalDelayMs(10_000, random);
+            assertTrue(delay >= 1000 && delay <= 1500);
+        }
+    }
+
+    @Test
+    public void with_returnsAdjustedCopy() {
+        GameBalance slowKitchen = GameBalance.DEFAULT.withCookDurationSeconds(12f);
+        GameBalance patientVips = slowKitchen.withCustomerConfig(Customer.CustomerType.VIP,
+                new Customer.CustomerConfig(400f, 250, 1.0f));
+
+        assertEquals(8.0f, GameBalance.DEFAULT.getCookDurationSeconds(), 0f);
+        assertEquals(12f, patientVips.getCookDurationSeconds(), 0f);
+        assertEquals(400f, patientVips.getCustomerConfig(Customer.CustomerType.VIP).getInitialPatience(), 0f);
+        assertEquals(180f, slowKitchen.getCustomerConfig(Customer.CustomerType.VIP).getInitialPatience(), 0f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arrivalMaxBelowMin_isRejected() {
+        GameBalance.DEFAULT.withArrivalDelays(5000, 4000);
+    }
+
+    @Test
+    public void zeroArrivalGaps_areRejected() {
+        try {
+            GameBalance.DEFAULT.withArrivalSpeedUp(150, 300, 0);
+            fail("zero floor accepted");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            GameBalance.DEFAULT.withArrivalDelays(0, 0);
+            fail("zero longest gap accepted");
+        } catch (IllegalArgumentException expected) {
+        }
+        // The shortest gap may still be 0, as long as the longest is not
+        assertEquals(1, GameBalance.DEFAULT.withArrivalDelays(0, 1).getArrivalMaxDelayMs());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class HeadlessGameTest {
+
+    private static HeadlessGame game(GameBalance balance, PlayerPolicy policy) {
+        DinerLayout layout = new DinerLayout();
+        layout.compute(1920, 1080);
+        HeadlessGame game = new HeadlessGame(balance, layout.getTables(), policy);
+        game.setTimeLimitSeconds(30 * 60);
+        return game;
+    }
+
+    @Test
+    public void idlePlayer_losesWithoutScoring() {
+        HeadlessGame.Result result = game(GameBalance.DEFAULT, PlayerPolicies.IDLE).play(1);
+
+        assertFalse(result.timedOut);
+        assertEquals(0, result.score);
+        assertEquals(1, result.level);
+        assertTrue(result.survivalSeconds > 0);
+    }
+
+    @Test
+    public void sameSeed_replaysTheSameGame() {
+        HeadlessGame game = game(GameBalance.DEFAULT, PlayerPolicies.FIFO);
+        HeadlessGame.Result first = game.play(42);
+        HeadlessGame.Result second = game.play(42);
+
+        assertTrue(first.score > 0);
+        assertEquals(first.score, second.score);
+        assertEquals(first.level, second.level);
+        assertEquals(first.survivalSeconds, second.survivalSeconds, 0.0);
+        assertEquals(first.arrivals, second.arrivals);
+    }
+
+    @Test
+    public void parallelGames_replayTheirSeedsExactly() throws Exception {
+        HeadlessGame.Result serial = game(GameBalance.DEFAULT, PlayerPolicies.GREEDY).play(7);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] games = new Future<?>[8];
+            for (int i = 0; i < games.length; i++) {
+                games[i] = pool.submit(() -> game(GameBalance.DEFAULT, PlayerPolicies.GREEDY).play(7));
+            }
+            for (Future<?> future : games) {
+                HeadlessGame.Result parallel = (HeadlessGame.Result) future.get();
+                assertEquals(serial.score, parallel.score);
+                assertEquals(serial.served, parallel.served);
+                assertEquals(serial.arrivals, parallel.arrivals);
+                assertEquals(serial.survivalSeconds, parallel.survivalSeconds, 0.0);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void partitionedTicks_replayTheSerialGame() {
+        DinerLayout layout = new DinerLayout(300, DinerLayout.AUTO_COLUMNS, DinerState.UNLIMITED_WAITING);
+        layout.compute(1920, 1080);
+        HeadlessGame game = new HeadlessGame(GameBalance.DEFAULT, layout.getTables(), PlayerPolicies.GREEDY);
+        game.setTimeLimitSeconds(5 * 60);
+        HeadlessGame.Result serial = game.play(5);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            game.setParallelUpdate(pool, 256);
+            HeadlessGame.Result partitioned = game.play(5);
+
+            assertEquals(serial.score, partitioned.score);
+            assertEquals(serial.served, partitioned.served);
+            assertEquals(serial.arrivals, partitioned.arrivals);
+            assertEquals(serial.survivalSeconds, partitioned.survivalSeconds, 0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void morePatientCustomers_lastLonger() {
+        GameBalance patient = GameBalance.DEFAULT;
+        for (Customer.CustomerType type : Customer.CustomerType.values()) {
+            Customer.CustomerConfig config = patient.getCustomerConfig(type);
+            patient = patient.withCustomerConfig(type, new Customer.CustomerConfig(
+                    config.getInitialPatience() * 4, config.getScoreValue(), config.getPatienceRateMultiplier()));
+        }
+
+        double normal = game(GameBalance.DEFAULT, PlayerPolicies.IDLE).play(3).survivalSeconds;
+        double longer = game(patient, PlayerPolicies.IDLE).play(3).survivalSeconds;
+        assertTrue(longer > normal);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void percentiles_areWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000L);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000L, histogram.getMax());
+        assertEquals(50_000_000.0, histogram.getValueAtPercentile(50), 50_000_000.0 * 0.07);
+        assertEquals(90_000_000.0, histogram.getValueAtPercentile(90), 90_000_000.0 * 0.07);
+        assertEquals(99_000_000.0, histogram.getValueAtPercentile(99), 99_000_000.0 * 0.07);
+        assertEquals(100_000_000L, histogram.getValueAtPercentile(100));
+
+        // Bucket edges are contiguous, so every value maps back into its own bucket
+        for (long value = 0; value < 1_000_000; value += 997) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.lowestValueOf(bucket) <= value);
+            assertTrue(LatencyHistogram.lowestValueOf(bucket + 1) > value);
+        }
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void frameStats_reportOnlyRecordedPhases() throws Exception {
+        FrameStats stats = new FrameStats("test loop");
+        stats.record(FrameStats.DRAW, 2_000_000L, 1_500_000L);
+        stats.record(FrameStats.OVERSLEEP, 300_000L, -1);
+
+        assertEquals(1, stats.getWallTime(FrameStats.DRAW).getCount());
+        assertEquals(0, stats.getCpuTime(FrameStats.OVERSLEEP).getCount());
+
+        StringWriter out = new StringWriter();
+        stats.writeReport(out);
+        String report = out.toString();
+        assertTrue(report.startsWith("test loop"));
+        assertTrue(report.contains("drawGame"));
+        assertTrue(report.contains("oversleep"));
+        assertFalse(report.contains("lockCanvas"));
+    }
+}
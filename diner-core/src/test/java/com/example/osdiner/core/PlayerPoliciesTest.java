@@ -0,0 +1,115 @@
+package com.example.osdiner.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PlayerPoliciesTest {
+
+    private DinerState state;
+    private DinerStateView view;
+
+    // Records actions as encoded commands, accepting up to limit of them
+    private static final class Recorder implements PlayerActions {
+        final List<Long> commands = new ArrayList<>();
+        final int limit;
+
+        Recorder(int limit) {
+            this.limit = limit;
+        }
+
+        private boolean add(int type, int customerId, int table) {
+            commands.add(CommandQueue.encode(type, customerId, table));
+            return commands.size() < limit;
+        }
+
+        @Override public boolean seat(int customerId, int table) { return add(CommandQueue.SEAT_CUSTOMER, customerId, table); }
+        @Override public boolean confirmOrder(int customerId) { return add(CommandQueue.CONFIRM_ORDER, customerId, CommandQueue.NO_TABLE); }
+        @Override public boolean deliverFood(int customerId, int table) { return add(CommandQueue.DELIVER_FOOD, customerId, table); }
+        @Override public boolean clearTable(int customerId) { return add(CommandQueue.CLEAR_TABLE, customerId, CommandQueue.NO_TABLE); }
+    }
+
+    @Before
+    public void setUp() {
+        state = new DinerState();
+        state.initializeTables(new Bounds[] {
+                new Bounds(0, 0, 100, 100),
+                new Bounds(200, 0, 300, 100)
+        });
+        view = new DinerStateView(state);
+    }
+
+    private Customer arrive(Customer.CustomerType type) {
+        Customer customer = new Customer(type);
+        state.addWaitingCustomer(customer);
+        return customer;
+    }
+
+    @Test
+    public void fifo_seatsInArrivalOrderAtDistinctTables() {
+        Customer first = arrive(Customer.CustomerType.NORMAL);
+        Customer second = arrive(Customer.CustomerType.VIP);
+        arrive(Customer.CustomerType.IMPATIENT);
+
+        Recorder actions = new Recorder(Integer.MAX_VALUE);
+        PlayerPolicies.FIFO.decide(view, actions);
+
+        assertEquals(2, actions.commands.size());
+        assertEquals(CommandQueue.encode(CommandQueue.SEAT_CUSTOMER, first.getId(), 0), (long) actions.commands.get(0));
+        assertEquals(CommandQueue.encode(CommandQueue.SEAT_CUSTOMER, second.getId(), 1), (long) actions.commands.get(1));
+    }
+
+    @Test
+    public void vipFirstAndGreedy_pickWhomToSeatByValue() {
+        Customer normal = arrive(Customer.CustomerType.NORMAL);
+        Customer impatient = arrive(Customer.CustomerType.IMPATIENT);
+        Customer vip = arrive(Customer.CustomerType.VIP);
+
+        Recorder vipFirst = new Recorder(Integer.MAX_VALUE);
+        PlayerPolicies.VIP_FIRST.decide(view, vipFirst);
+        assertEquals(CommandQueue.encode(CommandQueue.SEAT_CUSTOMER, vip.getId(), 0), (long) vipFirst.commands.get(0));
+        assertEquals(CommandQueue.encode(CommandQueue.SEAT_CUSTOMER, normal.getId(), 1), (long) vipFirst.commands.get(1));
+
+        Recorder greedy = new Recorder(Integer.MAX_VALUE);
+        PlayerPolicies.GREEDY.decide(view, greedy);
+        assertEquals(CommandQueue.encode(CommandQueue.SEAT_CUSTOMER, vip.getId(), 0), (long) greedy.commands.get(0));
+        assertEquals(CommandQueue.encode(CommandQueue.SEAT_CUSTOMER, impatient.getId(), 1), (long) greedy.commands.get(1));
+    }
+
+    @Test
+    public void greedy_clearsBeforeSeatingAndStopsWhenRefused() {
+        Customer seated = arrive(Customer.CustomerType.NORMAL);
+        state.trySeatCustomerByDrag(seated, state.getTables().get(1));
+        seated.setState(Customer.CustomerState.READY_TO_LEAVE);
+        arrive(Customer.CustomerType.VIP);
+
+        Recorder oneAction = new Recorder(1);
+        PlayerPolicies.GREEDY.decide(view, oneAction);
+        assertEquals(1, oneAction.commands.size());
+        assertEquals(CommandQueue.encode(CommandQueue.CLEAR_TABLE, seated.getId(), CommandQueue.NO_TABLE),
+                (long) oneAction.commands.get(0));
+
+        state.applyCommand(oneAction.commands.get(0));
+        assertFalse(state.getTables().get(1).isOccupied());
+        assertEquals(1, state.getCustomersServed());
+    }
+
+    @Test
+    public void unlimitedPlayer_servesAtLeastAsManyAsAReactionLimitedOne() {
+        DinerLayout layout = new DinerLayout();
+        layout.compute(1920, 1080);
+        HeadlessGame game = new HeadlessGame(GameBalance.DEFAULT, layout.getTables(), PlayerPolicies.GREEDY);
+        game.setTimeLimitSeconds(20 * 60);
+        game.setReactionSeconds(2.0);
+        HeadlessGame.Result slow = game.play(5);
+        game.setReactionSeconds(0);
+        HeadlessGame.Result instant = game.play(5);
+
+        assertTrue(instant.served > 0);
+        assertTrue(instant.served >= slow.served);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RenderSnapshotBufferTest {
+
+    @Test
+    public void reader_getsNewestSnapshotAndKeepsItUntilNextAcquire() {
+        RenderSnapshotBuffer buffer = new RenderSnapshotBuffer();
+        assertNull(buffer.acquireLatest());
+
+        RenderSnapshot first = buffer.getWriteBuffer();
+        buffer.publish();
+        RenderSnapshot second = buffer.getWriteBuffer();
+        assertNotSame(first, second);
+        buffer.publish();
+
+        // Only the newest of several publishes is seen
+        RenderSnapshot drawn = buffer.acquireLatest();
+        assertSame(second, drawn);
+
+        // The writer never gets the buffer the reader holds
+        for (int i = 0; i < 5; i++) {
+            assertNotSame(drawn, buffer.getWriteBuffer());
+            buffer.publish();
+        }
+        assertNotSame(drawn, buffer.acquireLatest());
+
+        // Nothing new published: the same snapshot is drawn again
+        RenderSnapshot again = buffer.acquireLatest();
+        assertSame(again, buffer.acquireLatest());
+    }
+
+    @Test
+    public void capture_copiesWaitingAndSeatedCustomers() {
+        DinerState state = new DinerState();
+        state.initializeTables(new Bounds[] {
+                new Bounds(0, 0, 100, 100),
+                new Bounds(200, 0, 300, 100)
+        });
+        Customer waiting = new Customer(Customer.CustomerType.VIP);
+        Customer seated = new Customer(Customer.CustomerType.NORMAL);
+        state.addWaitingCustomer(waiting);
+        state.addWaitingCustomer(seated);
+        assertTrue(state.trySeatCustomerByDrag(seated, state.getTables().get(1)));
+        state.update(1.0 / 60.0);
+
+        RenderSnapshot snapshot = new RenderSnapshot();
+        snapshot.capture(state);
+
+        assertEquals(1, snapshot.getWaitingCount());
+        assertEquals(waiting.getId(), snapshot.getWaitingId(0));
+        assertEquals(Customer.CustomerType.VIP, snapshot.getWaitingType(0));
+        assertEquals(waiting.getPatiencePercentage(), snapshot.getWaitingPatience(0, 1f), 1e-6f);
+        assertTrue(snapshot.getWaitingPatience(0, 0f) > snapshot.getWaitingPatience(0, 1f));
+
+        assertEquals(2, snapshot.getTableCount());
+        assertEquals(RenderSnapshot.NO_CUSTOMER, snapshot.getSeatedId(0));
+        assertEquals(seated.getId(), snapshot.getSeatedId(1));
+        assertEquals(Customer.CustomerState.SEATED_IDLE, snapshot.getSeatedState(1));
+        assertEquals(200f, snapshot.getTableLeft(1), 0f);
+        assertEquals(state.getPlayerLives(), snapshot.getLives());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SessionRandomTest {
+
+    @Test
+    public void sameSeed_givesSameStreams() {
+        SessionRandom a = new SessionRandom(99);
+        SessionRandom b = new SessionRandom(99);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.arrivals().nextLong(), b.arrivals().nextLong());
+            assertEquals(a.types().nextLong(), b.types().nextLong());
+            assertEquals(a.policy().nextLong(), b.policy().nextLong());
+        }
+        assertEquals(99, a.getSeed());
+    }
+
+    @Test
+    public void drawingFromOneStream_leavesTheOthersAlone() {
+        SessionRandom quiet = new SessionRandom(5);
+        SessionRandom busy = new SessionRandom(5);
+        for (int i = 0; i < 1000; i++) {
+            busy.policy().nextInt();
+        }
+        assertEquals(quiet.arrivals().nextLong(), busy.arrivals().nextLong());
+        assertEquals(quiet.types().nextLong(), busy.types().nextLong());
+        assertNotEquals(quiet.arrivals().nextLong(), quiet.types().nextLong());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TapTargetsTest {
+
+    @Test
+    public void find_matchesKindAndHalfOpenBounds() {
+        TapTargets targets = new TapTargets(1);
+        targets.clear(1000, 600);
+        targets.add(TapTargets.WAITING_CUSTOMER, 7, 0, 0, 10, 10);
+        targets.add(TapTargets.CLEAR_TABLE, 9, 5, 5, 20, 20); // Grows past the initial capacity
+
+        assertEquals(2, targets.size());
+        assertEquals(7, targets.find(TapTargets.WAITING_CUSTOMER, 0, 0));
+        assertEquals(TapTargets.NO_TARGET, targets.find(TapTargets.WAITING_CUSTOMER, 10, 5));
+        assertEquals(9, targets.find(TapTargets.CLEAR_TABLE, 6, 6));
+        assertEquals(TapTargets.NO_TARGET, targets.find(TapTargets.FOOD_READY, 6, 6));
+
+        targets.clear(1000, 600);
+        assertEquals(TapTargets.NO_TARGET, targets.find(TapTargets.WAITING_CUSTOMER, 1, 1));
+    }
+
+    @Test
+    public void grid_findsTargetsSpanningCellsAndPrefersFirstAdded() {
+        TapTargets targets = new TapTargets(4);
+        targets.clear(1000, 600);
+        int cell = TapTargets.CELL_SIZE;
+        // A table covering a 3x2 block of cells, then a smaller one on top of it
+        targets.add(TapTargets.TABLE, 1, cell / 2f, cell / 2f, cell * 3.5f, cell * 2f);
+        targets.add(TapTargets.TABLE, 2, cell * 2f, cell, cell * 3f, cell * 1.5f);
+        // Partly off screen
+        targets.add(TapTargets.FOOD_READY, 3, -50, 550, 40, 700);
+
+        assertEquals(1, targets.find(TapTargets.TABLE, cell * 0.6f, cell * 0.6f));
+        assertEquals(1, targets.find(TapTargets.TABLE, cell * 3.4f, cell * 1.9f));
+        assertEquals(1, targets.find(TapTargets.TABLE, cell * 2.5f, cell * 1.2f));
+        assertEquals(TapTargets.NO_TARGET, targets.find(TapTargets.TABLE, cell * 3.6f, cell));
+        assertEquals(3, targets.find(TapTargets.FOOD_READY, 0, 599));
+        assertEquals(TapTargets.NO_TARGET, targets.find(TapTargets.FOOD_READY, 0, 2000));
+
+        // Next frame on a bigger surface starts empty
+        targets.clear(2000, 1200);
+        assertEquals(TapTargets.NO_TARGET, targets.find(TapTargets.TABLE, cell * 0.6f, cell * 0.6f));
+        targets.add(TapTargets.TABLE, 4, 1900, 1100, 1950, 1150);
+        assertEquals(4, targets.find(TapTargets.TABLE, 1920, 1120));
+    }
+}
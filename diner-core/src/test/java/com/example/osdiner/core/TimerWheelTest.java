@@ -0,0 +1,62 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TimerWheelTest {
+
+    @Test
+    public void timersFireOnTheirDeadlineTick_acrossAllLevels() {
+        long[] deadlines = {1, 255, 256, 257, 5_000, 16_384, 70_000, 2_000_000, 70_000_000L};
+        TimerWheel wheel = new TimerWheel(deadlines.length);
+        for (int id = 0; id < deadlines.length; id++) {
+            wheel.schedule(id, deadlines[id]);
+        }
+
+        for (int id = 0; id < deadlines.length; id++) {
+            wheel.advance(deadlines[id] - 1);
+            assertEquals("early fire for deadline " + deadlines[id], 0, wheel.getExpiredCount());
+            wheel.advance(deadlines[id]);
+            assertEquals(1, wheel.getExpiredCount());
+            assertEquals(id, wheel.getExpired(0));
+        }
+    }
+
+    @Test
+    public void randomSchedule_matchesBruteForce() {
+        Random random = new Random(7);
+        int timers = 500;
+        TimerWheel wheel = new TimerWheel(timers);
+        long[] expected = new long[timers];
+        long[] fired = new long[timers];
+
+        for (int id = 0; id < timers; id++) {
+            expected[id] = 1 + random.nextInt(100_000);
+            wheel.schedule(id, expected[id]);
+        }
+        // Cancel and reschedule a few to exercise unlinking
+        for (int id = 0; id < timers; id += 7) {
+            wheel.cancel(id);
+            expected[id] = 1 + random.nextInt(100_000);
+            wheel.schedule(id, expected[id]);
+        }
+
+        long now = 0;
+        while (now < 100_000) {
+            now += 1 + random.nextInt(40);
+            wheel.advance(now);
+            for (int i = 0; i < wheel.getExpiredCount(); i++) {
+                fired[wheel.getExpired(i)] = now;
+            }
+        }
+
+        for (int id = 0; id < timers; id++) {
+            assertTrue(fired[id] >= expected[id]);
+            assertTrue(fired[id] - expected[id] < 40);
+            assertFalse(wheel.isScheduled(id));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.osdiner.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class TraceRingTest {
+
+    @Test
+    public void ring_keepsNewestRecordsInOrder() {
+        TraceRing ring = new TraceRing(3);
+        for (int i = 0; i < 5; i++) {
+            ring.record(i * 100L, TraceRing.EVENT_STATE_CHANGED, i, 2, i == 4 ? -1 : i);
+        }
+
+        assertEquals(3, ring.size());
+        assertEquals(5, ring.getTotalRecorded());
+        assertEquals(2, ring.getCustomerId(0));
+        assertEquals(200L, ring.getTimeNanos(0));
+        assertEquals(4, ring.getCustomerId(2));
+        assertEquals(-1, ring.getTableId(2));
+        assertEquals(2, ring.getState(1));
+        assertEquals(TraceRing.EVENT_STATE_CHANGED, ring.getEventType(1));
+    }
+
+    @Test
+    public void dinerState_tracesCustomerLifecycle() throws IOException {
+        DinerState state = new DinerState();
+        TraceRing ring = new TraceRing(64);
+        state.setTraceRing(ring);
+        state.initializeTables(new Bounds[] { new Bounds(0, 0, 10, 10) });
+
+        Customer customer = new Customer();
+        state.addWaitingCustomer(customer);
+        state.trySeatCustomerByDrag(customer, state.getTables().get(0));
+
+        assertEquals(2, ring.size());
+        assertEquals(Customer.CustomerState.WAITING_QUEUE.ordinal(), ring.getState(0));
+        assertEquals(Customer.CustomerState.SEATED_IDLE.ordinal(), ring.getState(1));
+        assertEquals(0, ring.getTableId(1));
+        assertEquals(customer.getId(), ring.getCustomerId(1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ring.writeTo(out);
+        assertEquals(12 + 2 * 16, out.size());
+    }
+}
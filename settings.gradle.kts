@@ -21,4 +21,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "OS Diner"
 include(":app")
+include(":diner-core")
+include(":benchmarks")
  
\ No newline at end of file